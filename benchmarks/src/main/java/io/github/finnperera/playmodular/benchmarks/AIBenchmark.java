@@ -0,0 +1,86 @@
+package io.github.finnperera.playmodular.benchmarks;
+
+import io.github.finnperera.playmodular.initialframework.*;
+import io.github.finnperera.playmodular.initialframework.AIModels.Minimax.AlphaBetaMinimaxModel;
+import io.github.finnperera.playmodular.initialframework.AIModels.Minimax.MinimaxModel;
+import io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTreeSearch.MonteCarloModel;
+import io.github.finnperera.playmodular.initialframework.AIModels.RandomModel;
+import io.github.finnperera.playmodular.initialframework.HiveHeuristics.BasicHeuristic;
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One move decision per invocation for each AI model, with a fixed search budget so runs are comparable.
+ * Alpha-beta runs single threaded at depth 3, with and without its transposition table,
+ * Monte Carlo runs 1000 iterations and minimax uses its built in depth.
+ * Model options are re-applied before each iteration so caches from the previous one are dropped.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class AIBenchmark {
+    public enum Model {
+        RANDOM,
+        MINIMAX,
+        ALPHA_BETA,
+        ALPHA_BETA_NO_TABLE,
+        MONTE_CARLO
+    }
+
+    @Param({"EARLY_GAME", "MIDGAME"})
+    public HiveStandardPosition position;
+
+    @Param({"RANDOM", "MINIMAX", "ALPHA_BETA", "ALPHA_BETA_NO_TABLE", "MONTE_CARLO"})
+    public Model model;
+
+    private HiveGame game;
+    private List<HiveMove> moves;
+    private AI<Hex, HiveTile> ai;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = position.create();
+        moves = game.getAvailableMoves(game.getCurrentPlayer());
+        HivePlayer player = game.getCurrentPlayer();
+
+        ai = switch (model) {
+            case RANDOM -> new RandomModel<>();
+            case MINIMAX -> new MinimaxModel<>(player, new BasicHeuristic());
+            case ALPHA_BETA, ALPHA_BETA_NO_TABLE -> {
+                AlphaBetaMinimaxModel<Hex, HiveTile> alphaBeta = new AlphaBetaMinimaxModel<>(player, new BasicHeuristic());
+                alphaBeta.setOptions(List.of(
+                        intOption("Maximum depth", 3),
+                        intOption("Number of threads", 1),
+                        intOption("Transposition table size (MB)", model == Model.ALPHA_BETA ? 16 : 0)));
+                yield alphaBeta;
+            }
+            case MONTE_CARLO -> {
+                MonteCarloModel<Hex, HiveTile> monteCarlo = new MonteCarloModel<>();
+                monteCarlo.setOptions(List.of(intOption("Iterations", 1000)));
+                yield monteCarlo;
+            }
+        };
+    }
+
+    @Setup(Level.Iteration)
+    public void resetModel() {
+        if (ai instanceof ConfigurableOptions configurable) {
+            configurable.setOptions(configurable.getOptions());
+        }
+    }
+
+    @Benchmark
+    public Move<Hex, HiveTile> getNextMove() {
+        return ai.getNextMove(game, moves);
+    }
+
+    private static Option<Integer> intOption(String name, int value) {
+        return new Option<>(name, "", OptionType.SPINNER, Integer.class, value, null, null);
+    }
+}
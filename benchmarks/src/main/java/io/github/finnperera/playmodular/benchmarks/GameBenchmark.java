@@ -0,0 +1,66 @@
+package io.github.finnperera.playmodular.benchmarks;
+
+import io.github.finnperera.playmodular.initialframework.*;
+import io.github.finnperera.playmodular.initialframework.HiveHeuristics.BasicHeuristic;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game level operations the searches spend their time in, on the standard positions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+    @Param({"OPENING", "EARLY_GAME", "MIDGAME", "CROWDED_MIDGAME"})
+    public HiveStandardPosition position;
+
+    @Param({"MAP", "ARRAY"})
+    public HiveBoardStorageType storage;
+
+    private HiveGame game;
+    private HiveGame searchCopy;
+    private HiveMove move;
+    private BasicHeuristic heuristic;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = position.create(storage);
+        searchCopy = game.copyForSearch();
+        move = HiveStandardPosition.sortedMoves(game).getFirst();
+        heuristic = new BasicHeuristic();
+    }
+
+    @Benchmark
+    public List<HiveMove> getAvailableMoves() {
+        return game.getAvailableMoves(game.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public HiveGame makeMove() {
+        return game.makeMove(move);
+    }
+
+    @Benchmark
+    public long applyAndUndoMove() {
+        searchCopy.applyMove(move);
+        long hash = searchCopy.getPositionHash();
+        searchCopy.undoMove();
+        return hash;
+    }
+
+    @Benchmark
+    public HiveBoardState copyBoardState() {
+        return new HiveBoardState(game.getBoardState());
+    }
+
+    @Benchmark
+    public int evaluate() {
+        return heuristic.getEvaluation(game, game.getCurrentPlayer());
+    }
+}
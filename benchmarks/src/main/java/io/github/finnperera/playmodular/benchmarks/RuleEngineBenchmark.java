@@ -0,0 +1,88 @@
+package io.github.finnperera.playmodular.benchmarks;
+
+import io.github.finnperera.playmodular.initialframework.*;
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move generation of HiveRuleEngine on the standard positions.
+ * Piece moves are generated for every tile of the given type on top of a stack, for both colours.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RuleEngineBenchmark {
+    @Param({"OPENING", "EARLY_GAME", "MIDGAME", "CROWDED_MIDGAME"})
+    public HiveStandardPosition position;
+
+    @Param({"MAP", "ARRAY"})
+    public HiveBoardStorageType storage;
+
+    private HiveRuleEngine ruleEngine;
+    private HiveBoardState boardState;
+    private HivePlayer player;
+    private final Map<HiveTileType, List<HiveTile>> topTilesByType = new EnumMap<>(HiveTileType.class);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HiveGame game = position.create(storage);
+        ruleEngine = game.getRuleEngine();
+        boardState = game.getBoardState();
+        player = game.getCurrentPlayer();
+
+        for (HiveTileType type : HiveTileType.values()) {
+            topTilesByType.put(type, new ArrayList<>());
+        }
+        for (Stack<HiveTile> stack : boardState.getBoard().getAllPieces()) {
+            HiveTile top = stack.peek();
+            topTilesByType.get(top.getTileType()).add(top);
+        }
+    }
+
+    @Benchmark
+    public List<Hex> generatePlacementPositions() {
+        return ruleEngine.generatePlacementPositions(boardState, player);
+    }
+
+    @Benchmark
+    public void generateQueenMoves(Blackhole blackhole) {
+        generatePieceMoves(HiveTileType.QUEEN_BEE, blackhole);
+    }
+
+    @Benchmark
+    public void generateAntMoves(Blackhole blackhole) {
+        generatePieceMoves(HiveTileType.ANT, blackhole);
+    }
+
+    @Benchmark
+    public void generateBeetleMoves(Blackhole blackhole) {
+        generatePieceMoves(HiveTileType.BEETLE, blackhole);
+    }
+
+    @Benchmark
+    public void generateGrasshopperMoves(Blackhole blackhole) {
+        generatePieceMoves(HiveTileType.GRASSHOPPER, blackhole);
+    }
+
+    @Benchmark
+    public void generateSpiderMoves(Blackhole blackhole) {
+        generatePieceMoves(HiveTileType.SPIDER, blackhole);
+    }
+
+    private void generatePieceMoves(HiveTileType type, Blackhole blackhole) {
+        for (HiveTile tile : topTilesByType.get(type)) {
+            blackhole.consume(ruleEngine.generatePieceMoves(boardState, tile));
+        }
+    }
+}
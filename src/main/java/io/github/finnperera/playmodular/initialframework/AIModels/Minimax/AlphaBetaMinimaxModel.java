@@ -3,6 +3,7 @@ package io.github.finnperera.playmodular.initialframework.AIModels.Minimax;
 import io.github.finnperera.playmodular.initialframework.*;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,25 +11,43 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class AlphaBetaMinimaxModel<P, T> implements AI<P, T>, ConfigurableOptions, LoggableComponent {
     private static final String OPT_MAX_DEPTH = "Maximum depth";
+    private static final String OPT_TIME_BUDGET = "Time per move (ms)";
     private static final String OPT_THREAD_COUNT = "Number of threads";
     private static final String OPT_HEURISTIC = "Heuristic";
+    private static final String OPT_TABLE_SIZE = "Transposition table size (MB)";
+    private static final String OPT_REPLACEMENT = "Transposition replacement policy";
+    private static final String OPT_MOVE_ORDERING = "Move ordering";
 
     private static final String DESC_MAX_DEPTH = "The maximum depth the model will go to"; // Might be +1
+    private static final String DESC_TIME_BUDGET = "Keep searching one level deeper until this time runs out," +
+            " stopping at the maximum depth. 0 always searches to the maximum depth.";
     private static final String DESC_THREAD_COUNT = "Number threads used in parallelisation," +
             " lower the value if bottle-necking is occurring, increase if the calculations take too long.";
     private static final String DESC_HEURISTIC = "The heuristic that the model will use to evaluate a board state";
+    private static final String DESC_TABLE_SIZE = "Memory for remembering already searched positions, 0 disables it";
+    private static final String DESC_REPLACEMENT = "Which entry is kept when two positions share a table slot";
+    private static final String DESC_MOVE_ORDERING = "Search the most promising moves first so more of the tree can be pruned";
 
     private final AtomicLong numNodesExplored;
-    private int threadCount = Runtime.getRuntime().availableProcessors() - 3;
+    private int threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 3);
     private int maxDepth = 3;
+    private int timeBudgetMs = 0;
+    private volatile int lastCompletedDepth;
     private final Player maxPlayer;
     private ExecutorService executor = Executors.newFixedThreadPool(threadCount);
     private Option<Object> heuristicOption;
     private Heuristic<P, T> heuristic;
+    private int tableSizeMb = 16;
+    private TranspositionTable.ReplacementPolicy replacementPolicy = TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED;
+    private TranspositionTable<P, T> transpositionTable; // created on first search, shared by all search threads
+    private boolean clearTable = false; // the stored scores are stale after an option change
+    private boolean moveOrderingEnabled = true;
+    private final MoveOrdering<P, T> moveOrdering = new MoveOrdering<>();
 
     public AlphaBetaMinimaxModel(Player maxPlayer, Heuristic<P, T> heuristic) {
         this.maxPlayer = maxPlayer;
@@ -48,78 +67,213 @@ public class AlphaBetaMinimaxModel<P, T> implements AI<P, T>, ConfigurableOption
 
     /*
     Implementing multi-threading here can affect the pruning negatively in certain cases
-    makes it even more important to have good ordering, which is currently random!
+    makes it even more important to have good ordering, see MoveOrdering.
     Still should allow me to go to a lower depth overall.
      */
     @Override
     public Move<P, T> getNextMove(Game<P, T> game, List<? extends Move<P, T>> moves) {
         //System.out.println("Beginning Alpha-Beta Minimax:\n");
+        prepareTranspositionTable();
+        moveOrdering.newSearch();
+        if (timeBudgetMs <= 0) {
+            lastCompletedDepth = maxDepth;
+            return bestOf(searchRoot(game, moves, maxDepth, 0));
+        }
+
+        // iterative deepening, depth 1 is only a static evaluation so it always runs to completion
+        long start = System.nanoTime();
+        List<EvaluatedMove<P, T>> completed = searchRoot(game, moves, 1, 0);
+        lastCompletedDepth = 1;
+
+        long deadline = start + timeBudgetMs * 1_000_000L;
+        for (int depth = 2; depth <= maxDepth; depth++) {
+            // searching the previous best moves first gives later moves tighter windows to prune against
+            List<Move<P, T>> ordered = completed.stream()
+                    .sorted(Comparator.comparingInt((EvaluatedMove<P, T> e) -> e.value).reversed())
+                    .<Move<P, T>>map(e -> e.move)
+                    .toList();
+            List<EvaluatedMove<P, T>> evaluated = searchRoot(game, ordered, depth, deadline);
+            if (evaluated == null) break; // ran out of time, keep the last finished iteration
+            completed = evaluated;
+            lastCompletedDepth = depth;
+        }
+        return bestOf(completed);
+    }
+
+    // deadline is a System.nanoTime() value after which the search aborts, 0 for no limit.
+    // Returns null if it ran out of time, moves whose search failed for another reason are left out.
+    // Waits for every task it started, so no search is still running when it returns.
+    private List<EvaluatedMove<P, T>> searchRoot(Game<P, T> game, List<? extends Move<P, T>> moves, int depth,
+                                                 long deadline) {
+        AtomicBoolean timedOut = new AtomicBoolean(false);
         List<Future<EvaluatedMove<P, T>>> futures = new ArrayList<>();
 
         for (Move<P, T> move : moves) {
-            Game<P, T> newState = game.makeMove(move);
-            Future<EvaluatedMove<P, T>> future = executor.submit(() ->
-                    new EvaluatedMove<>
-                            (move, minimax(newState, Integer.MIN_VALUE, Integer.MAX_VALUE, maxDepth - 1, false)));
+            Future<EvaluatedMove<P, T>> future = executor.submit(() -> {
+                if (timedOut.get()) throw SearchTimeoutException.INSTANCE; // don't start the rest of this iteration
+                // each task searches its own copy in place when the game supports it
+                Game<P, T> newState = game instanceof SearchableGame<P, T> searchable ?
+                        playMove(searchable.copyForSearch(), move) : game.makeMove(move);
+                return new EvaluatedMove<>(move, minimax(newState, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                        depth - 1, 1, false, deadline, new MoveOrdering.KillerMoves<>()));
+            });
             futures.add(future);
         }
 
-        Move<P, T> bestMove = null;
-        int bestVal = Integer.MIN_VALUE;
-
+        List<EvaluatedMove<P, T>> evaluated = new ArrayList<>();
         for (Future<EvaluatedMove<P, T>> future : futures) {
             try {
-                EvaluatedMove<P, T> moveEval = future.get();
-                if (moveEval.value > bestVal) {
-                    bestVal = moveEval.value;
-                    bestMove = moveEval.move;
+                evaluated.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SearchTimeoutException) {
+                    timedOut.set(true);
+                } else {
+                    e.printStackTrace(); // Could expand on this
                 }
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace(); // Could expand on this
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+        return timedOut.get() ? null : evaluated;
+    }
+
+    private Move<P, T> bestOf(List<EvaluatedMove<P, T>> evaluated) {
+        Move<P, T> bestMove = null;
+        int bestVal = Integer.MIN_VALUE;
+
+        for (EvaluatedMove<P, T> moveEval : evaluated) {
+            if (bestMove == null || moveEval.value > bestVal) {
+                bestVal = moveEval.value;
+                bestMove = moveEval.move;
             }
         }
         return bestMove;
     }
 
-    private int minimax(Game<P, T> gameState, int alpha, int beta, int depth, boolean maxPlayer) {
+    private int minimax(Game<P, T> gameState, int alpha, int beta, int depth, int ply, boolean maxPlayer,
+                        long deadline, MoveOrdering.KillerMoves<P, T> killers) {
         incrementExploredNodes();
+        if (deadline != 0 && System.nanoTime() - deadline > 0) {
+            throw SearchTimeoutException.INSTANCE;
+        }
         if (depth <= 0 || gameState.isTerminalState()) {
             return heuristic.getEvaluation(gameState, this.maxPlayer);
         }
 
+        TranspositionTable<P, T> table = transpositionTable;
+        long hash = 0;
+        Move<P, T> hashMove = null;
+        if (table != null && gameState instanceof SearchableGame<P, T> searchable) {
+            hash = searchable.getPositionHash();
+            TranspositionTable.Entry<P, T> entry = table.probe(hash);
+            if (entry != null) hashMove = entry.bestMove();
+            if (entry != null && entry.depth() >= depth) {
+                switch (entry.bound()) {
+                    case EXACT -> {
+                        return entry.score();
+                    }
+                    case LOWER -> alpha = Math.max(alpha, entry.score());
+                    case UPPER -> beta = Math.min(beta, entry.score());
+                }
+                if (beta <= alpha) return entry.score();
+            }
+        } else {
+            table = null;
+        }
+        int searchAlpha = alpha;
+        int searchBeta = beta;
+
         List<? extends Move<P, T>> moves = gameState.getAvailableMoves(gameState.getCurrentPlayer());
         if (moves.isEmpty()) {
+            if (gameState instanceof SearchableGame<P, T> searchable) {
+                searchable.applyPass();
+                int val = minimax(searchable, alpha, beta, depth - 1, ply + 1, !maxPlayer, deadline, killers);
+                searchable.undoMove();
+                return val;
+            }
+
             Game<P, T> noMovesOutcome = gameState.handleNoAvailableMoves();
             if (noMovesOutcome != null) { // temp fix
-                return minimax(noMovesOutcome, alpha, beta, depth - 1, !maxPlayer);
+                return minimax(noMovesOutcome, alpha, beta, depth - 1, ply + 1, !maxPlayer, deadline, killers);
             } else {
                 return heuristic.getEvaluation(gameState, this.maxPlayer);
             }
         }
 
+        if (moveOrderingEnabled && moves.size() > 1) {
+            moves = moveOrdering.order(gameState, moves, hashMove, killers, ply, heuristic);
+        }
+
         int bestVal = maxPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        Move<P, T> bestMove = null;
 
         for (Move<P, T> move : moves) {
-            Game<P, T> newState = gameState.makeMove(move);
-            int val = minimax(newState, alpha, beta, depth - 1, !maxPlayer);
+            Game<P, T> newState = playMove(gameState, move);
+            int val = minimax(newState, alpha, beta, depth - 1, ply + 1, !maxPlayer, deadline, killers);
+            undoMove(gameState);
 
             if (maxPlayer) {
+                if (val > bestVal || bestMove == null) bestMove = move;
                 bestVal = Math.max(bestVal, val);
                 alpha = Math.max(alpha, val);
-
-                if (beta <= alpha) break;
             } else {
+                if (val < bestVal || bestMove == null) bestMove = move;
                 bestVal = Math.min(bestVal, val);
                 beta = Math.min(beta, val);
+            }
 
-                if (beta <= alpha) break;
+            if (beta <= alpha) {
+                if (moveOrderingEnabled) moveOrdering.recordCutoff(move, depth, ply, killers);
+                break;
             }
         }
 
-        System.out.println("Value at depth " + depth + ": " + bestVal);
+        if (table != null) {
+            TranspositionTable.Bound bound;
+            if (bestVal <= searchAlpha) {
+                bound = TranspositionTable.Bound.UPPER;
+            } else if (bestVal >= searchBeta) {
+                bound = TranspositionTable.Bound.LOWER;
+            } else {
+                bound = TranspositionTable.Bound.EXACT;
+            }
+            table.store(hash, depth, bound, bestVal, bestMove);
+        }
+
         return bestVal;
     }
 
+    // the table is only reallocated when its size or policy changes, other option changes just clear it
+    private void prepareTranspositionTable() {
+        if (tableSizeMb <= 0) {
+            transpositionTable = null;
+        } else if (transpositionTable == null
+                || transpositionTable.capacity() != TranspositionTable.capacityFor(tableSizeMb)
+                || transpositionTable.getReplacementPolicy() != replacementPolicy) {
+            transpositionTable = new TranspositionTable<>(tableSizeMb, replacementPolicy);
+        } else if (clearTable) {
+            transpositionTable.clear();
+        } else {
+            transpositionTable.newSearch();
+        }
+        clearTable = false;
+    }
+
+    // mutates searchable games in place, otherwise falls back to copying
+    private Game<P, T> playMove(Game<P, T> gameState, Move<P, T> move) {
+        if (gameState instanceof SearchableGame<P, T> searchable) {
+            searchable.applyMove(move);
+            return searchable;
+        }
+        return gameState.makeMove(move);
+    }
+
+    private void undoMove(Game<P, T> gameState) {
+        if (gameState instanceof SearchableGame<P, T> searchable) {
+            searchable.undoMove();
+        }
+    }
+
     private void rebuildExecutor() {
         executor.shutdown();
         executor = Executors.newFixedThreadPool(threadCount);
@@ -133,8 +287,23 @@ public class AlphaBetaMinimaxModel<P, T> implements AI<P, T>, ConfigurableOption
     public List<Option<?>> getOptions() {
         return List.of(
                 new Option<>(OPT_MAX_DEPTH, DESC_MAX_DEPTH, OptionType.SPINNER, Integer.class, maxDepth, 1, 10),
+                new Option<>(OPT_TIME_BUDGET, DESC_TIME_BUDGET, OptionType.SPINNER, Integer.class, timeBudgetMs, 0, 600_000),
                 new Option<>(OPT_THREAD_COUNT, DESC_THREAD_COUNT, OptionType.SPINNER, Integer.class, threadCount, 1, Runtime.getRuntime().availableProcessors()),
-                heuristicOption
+                heuristicOption,
+                new Option<>(OPT_TABLE_SIZE, DESC_TABLE_SIZE, OptionType.SPINNER, Integer.class, tableSizeMb, 0, 1024),
+                Option.<TranspositionTable.ReplacementPolicy>builder()
+                        .name(OPT_REPLACEMENT)
+                        .description(DESC_REPLACEMENT)
+                        .type(OptionType.DROPDOWN)
+                        .valueType(TranspositionTable.ReplacementPolicy.class)
+                        .value(replacementPolicy)
+                        .setMinValue(null)
+                        .setMaxValue(null)
+                        .setChoices(List.of(
+                                new ChoiceItem<>("Depth preferred", TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED),
+                                new ChoiceItem<>("Always replace", TranspositionTable.ReplacementPolicy.ALWAYS)))
+                        .build(),
+                new Option<>(OPT_MOVE_ORDERING, DESC_MOVE_ORDERING, OptionType.TOGGLE, Boolean.class, moveOrderingEnabled, null, null)
         );
     }
 
@@ -146,6 +315,9 @@ public class AlphaBetaMinimaxModel<P, T> implements AI<P, T>, ConfigurableOption
                 case OPT_MAX_DEPTH:
                     maxDepth = (Integer) option.getValue();
                     break;
+                case OPT_TIME_BUDGET:
+                    timeBudgetMs = (Integer) option.getValue();
+                    break;
                 case OPT_THREAD_COUNT:
                     threadCount = (Integer) option.getValue();
                     rebuildExecutor();
@@ -157,6 +329,16 @@ public class AlphaBetaMinimaxModel<P, T> implements AI<P, T>, ConfigurableOption
                     } else {
                         throw new IllegalArgumentException("Invalid Heuristic");
                     }
+                    clearTable = true; // scores from another heuristic are meaningless
+                    break;
+                case OPT_TABLE_SIZE:
+                    tableSizeMb = (Integer) option.getValue();
+                    break;
+                case OPT_REPLACEMENT:
+                    replacementPolicy = (TranspositionTable.ReplacementPolicy) option.getValue();
+                    break;
+                case OPT_MOVE_ORDERING:
+                    moveOrderingEnabled = (Boolean) option.getValue();
                     break;
                 default:
                     throw new IllegalArgumentException("Unknown option: " + option.getName());
@@ -176,9 +358,20 @@ public class AlphaBetaMinimaxModel<P, T> implements AI<P, T>, ConfigurableOption
     public Map<String, Object> toLogMap() {
         Map<String, Object> map = new HashMap<>();
         map.put("num explored nodes", numNodesExplored.get());
+        map.put("last completed depth", lastCompletedDepth);
         return map;
     }
 
+    // thrown from deep inside the search once the deadline passes, the stack trace is never needed
+    private static class SearchTimeoutException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private static final SearchTimeoutException INSTANCE = new SearchTimeoutException();
+
+        private SearchTimeoutException() {
+            super(null, null, false, false);
+        }
+    }
+
     public static class EvaluatedMove<P, T> {
         private final Move<P, T> move;
         private final int value;
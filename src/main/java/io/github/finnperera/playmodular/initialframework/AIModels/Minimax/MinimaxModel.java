@@ -32,10 +32,12 @@ public class MinimaxModel<P, T> implements AI<P, T>, LoggableComponent {
         List<Future<EvaluatedMove<P, T>>> futures = new ArrayList<>();
 
         for (Move<P, T> move : moves) {
-            Game<P, T> newState = game.makeMove(move);
-            Future<EvaluatedMove<P, T>> future = executor.submit(() ->
-                    new EvaluatedMove<>
-                            (move, minimax(newState, MAX_DEPTH - 1, false)));
+            Future<EvaluatedMove<P, T>> future = executor.submit(() -> {
+                // each task searches its own copy in place when the game supports it
+                Game<P, T> newState = game instanceof SearchableGame<P, T> searchable ?
+                        playMove(searchable.copyForSearch(), move) : game.makeMove(move);
+                return new EvaluatedMove<>(move, minimax(newState, MAX_DEPTH - 1, false));
+            });
             futures.add(future);
         }
 
@@ -69,14 +71,21 @@ public class MinimaxModel<P, T> implements AI<P, T>, LoggableComponent {
 
         List<? extends Move<P, T>> moves = gameState.getAvailableMoves(gameState.getCurrentPlayer());
         if (moves.isEmpty()) {
+            if (gameState instanceof SearchableGame<P, T> searchable) {
+                searchable.applyPass();
+                int val = minimax(searchable, depth - 1, !maxPlayer);
+                searchable.undoMove();
+                return val;
+            }
             return minimax(gameState.handleNoAvailableMoves(), depth - 1, !maxPlayer);
         }
 
         int bestVal = maxPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE;
 
         for (Move<P, T> move : moves) {
-            Game<P, T> newState = gameState.makeMove(move);
+            Game<P, T> newState = playMove(gameState, move);
             int val = minimax(newState, depth - 1, !maxPlayer);
+            undoMove(gameState);
 
             if (maxPlayer) {
                 bestVal = Math.max(bestVal, val);
@@ -85,10 +94,24 @@ public class MinimaxModel<P, T> implements AI<P, T>, LoggableComponent {
             }
         }
 
-        System.out.println("Value at depth " + depth + ": " + bestVal);
         return bestVal;
     }
 
+    // mutates searchable games in place, otherwise falls back to copying
+    private Game<P, T> playMove(Game<P, T> gameState, Move<P, T> move) {
+        if (gameState instanceof SearchableGame<P, T> searchable) {
+            searchable.applyMove(move);
+            return searchable;
+        }
+        return gameState.makeMove(move);
+    }
+
+    private void undoMove(Game<P, T> gameState) {
+        if (gameState instanceof SearchableGame<P, T> searchable) {
+            searchable.undoMove();
+        }
+    }
+
     @Override
     public Map<String, Object> toLogMap() {
         Map<String, Object> map = new HashMap<>();
@@ -0,0 +1,100 @@
+package io.github.finnperera.playmodular.initialframework.AIModels.Minimax;
+
+import io.github.finnperera.playmodular.initialframework.Game;
+import io.github.finnperera.playmodular.initialframework.Heuristic;
+import io.github.finnperera.playmodular.initialframework.Move;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Orders moves so that alpha-beta finds cutoffs early: the transposition table's best move first, then the
+ * killer moves of the current ply, then moves by history score, then by the heuristic's static move score.
+ * The history table is shared by all search threads, killer moves are kept per search task.
+ */
+public class MoveOrdering<P, T> {
+    private static final int HISTORY_SIZE = 1 << 14; // indexed by move hash, collisions only cost ordering quality
+    private static final int HASH_MOVE_TIER = 2;
+    private static final int KILLER_TIER = 1;
+
+    private final AtomicIntegerArray history = new AtomicIntegerArray(HISTORY_SIZE);
+
+    private record ScoredMove<P, T>(Move<P, T> move, int tier, int history, int staticScore) {}
+
+    private static final Comparator<ScoredMove<?, ?>> BEST_FIRST = Comparator
+            .comparingInt((ScoredMove<?, ?> m) -> m.tier)
+            .thenComparingInt(m -> m.history)
+            .thenComparingInt(m -> m.staticScore)
+            .reversed();
+
+    public List<Move<P, T>> order(Game<P, T> game, List<? extends Move<P, T>> moves, Move<P, T> hashMove,
+                                  KillerMoves<P, T> killers, int ply, Heuristic<P, T> heuristic) {
+        List<ScoredMove<P, T>> scored = new ArrayList<>(moves.size());
+        Heuristic.MoveScorer<P, T> scorer = heuristic.getMoveOrderingScorer(game);
+        for (Move<P, T> move : moves) {
+            int tier = 0;
+            if (move.equals(hashMove)) {
+                tier = HASH_MOVE_TIER;
+            } else if (killers.isKiller(move, ply)) {
+                tier = KILLER_TIER;
+            }
+            scored.add(new ScoredMove<>(move, tier, history.get(historyIndex(move)),
+                    scorer.score(move)));
+        }
+        scored.sort(BEST_FIRST);
+
+        List<Move<P, T>> ordered = new ArrayList<>(scored.size());
+        for (ScoredMove<P, T> scoredMove : scored) {
+            ordered.add(scoredMove.move);
+        }
+        return ordered;
+    }
+
+    // called when a move causes a beta cutoff
+    public void recordCutoff(Move<P, T> move, int depth, int ply, KillerMoves<P, T> killers) {
+        killers.add(move, ply);
+        history.addAndGet(historyIndex(move), depth * depth); // cutoffs near the root prune the most
+    }
+
+    // halves old history so moves that were good many turns ago don't dominate the new search
+    public void newSearch() {
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            history.set(i, history.get(i) >> 1);
+        }
+    }
+
+    private static int historyIndex(Move<?, ?> move) {
+        int h = move.hashCode();
+        return (h ^ (h >>> 16)) & (HISTORY_SIZE - 1);
+    }
+
+    /**
+     * Two most recent cutoff moves for each ply, one instance per search task so no locking is needed.
+     */
+    public static class KillerMoves<P, T> {
+        private static final int MAX_PLY = 64;
+
+        private final List<Move<P, T>> first = new ArrayList<>();
+        private final List<Move<P, T>> second = new ArrayList<>();
+
+        public KillerMoves() {
+            for (int i = 0; i < MAX_PLY; i++) {
+                first.add(null);
+                second.add(null);
+            }
+        }
+
+        boolean isKiller(Move<P, T> move, int ply) {
+            if (ply >= MAX_PLY) return false;
+            return move.equals(first.get(ply)) || move.equals(second.get(ply));
+        }
+
+        void add(Move<P, T> move, int ply) {
+            if (ply >= MAX_PLY || move.equals(first.get(ply))) return;
+            second.set(ply, first.get(ply));
+            first.set(ply, move);
+        }
+    }
+}
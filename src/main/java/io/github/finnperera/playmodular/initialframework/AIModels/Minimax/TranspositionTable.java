@@ -0,0 +1,121 @@
+package io.github.finnperera.playmodular.initialframework.AIModels.Minimax;
+
+import io.github.finnperera.playmodular.initialframework.Move;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed size transposition table keyed by position hash, shared by all search threads.
+ * Each slot holds the stored key XORed with its packed data, so a slot torn by two threads writing at
+ * once fails the key check on the next probe instead of returning mixed up data. The best move is kept
+ * alongside and may belong to a different entry after such a race, callers should check it is legal.
+ */
+public class TranspositionTable<P, T> {
+    public enum Bound {
+        EXACT,
+        LOWER, // score is at least this value
+        UPPER // score is at most this value
+    }
+
+    public enum ReplacementPolicy {
+        ALWAYS, // newest entry wins
+        DEPTH_PREFERRED // keeps deeper entries from the current search, entries from older searches are replaced
+    }
+
+    public record Entry<P, T>(int depth, Bound bound, int score, Move<P, T> bestMove) {}
+
+    private static final int BYTES_PER_ENTRY = 24; // two longs and a reference
+    private static final Bound[] BOUNDS = Bound.values();
+
+    // data layout: score (32) | depth (16) | bound (2) | generation (8) | ... | valid (1)
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 48;
+    private static final int GENERATION_SHIFT = 50;
+    private static final long VALID = 1L << 63;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray data;
+    private final AtomicReferenceArray<Move<P, T>> bestMoves;
+    private final int mask;
+    private final ReplacementPolicy replacementPolicy;
+    private volatile int generation;
+
+    public TranspositionTable(int sizeMb, ReplacementPolicy replacementPolicy) {
+        int entries = capacityFor(sizeMb);
+        this.keys = new AtomicLongArray(entries);
+        this.data = new AtomicLongArray(entries);
+        this.bestMoves = new AtomicReferenceArray<>(entries);
+        this.mask = entries - 1;
+        this.replacementPolicy = replacementPolicy;
+    }
+
+    // null when the position is not stored
+    public Entry<P, T> probe(long hash) {
+        int index = indexOf(hash);
+        long entryData = data.get(index);
+        if ((entryData & VALID) == 0 || (keys.get(index) ^ entryData) != hash) return null;
+
+        return new Entry<>(depthOf(entryData), BOUNDS[(int) (entryData >>> BOUND_SHIFT) & 0x3],
+                (int) entryData, bestMoves.get(index));
+    }
+
+    public void store(long hash, int depth, Bound bound, int score, Move<P, T> bestMove) {
+        int index = indexOf(hash);
+        long existing = data.get(index);
+        if (replacementPolicy == ReplacementPolicy.DEPTH_PREFERRED && (existing & VALID) != 0
+                && generationOf(existing) == (generation & 0xFF)
+                && depthOf(existing) > depth
+                && (keys.get(index) ^ existing) != hash) {
+            return; // keep the deeper result for another position
+        }
+
+        long entryData = (score & 0xFFFFFFFFL)
+                | ((long) (depth & 0xFFFF) << DEPTH_SHIFT)
+                | ((long) bound.ordinal() << BOUND_SHIFT)
+                | ((long) (generation & 0xFF) << GENERATION_SHIFT)
+                | VALID;
+        bestMoves.set(index, bestMove);
+        data.set(index, entryData);
+        keys.set(index, hash ^ entryData);
+    }
+
+    // called at the start of each search so older entries can be replaced first
+    public void newSearch() {
+        generation++;
+    }
+
+    public void clear() {
+        for (int i = 0; i <= mask; i++) {
+            data.set(i, 0);
+            keys.set(i, 0);
+            bestMoves.set(i, null);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public ReplacementPolicy getReplacementPolicy() {
+        return replacementPolicy;
+    }
+
+    // entries in a table of sizeMb, a power of two so slots can be found by masking
+    public static int capacityFor(int sizeMb) {
+        long maxEntries = Math.max(1L, (long) sizeMb * 1024 * 1024 / BYTES_PER_ENTRY);
+        return Integer.highestOneBit((int) Math.min(maxEntries, 1 << 30));
+    }
+
+    private int indexOf(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int depthOf(long entryData) {
+        return (int) (entryData >>> DEPTH_SHIFT) & 0xFFFF;
+    }
+
+    private static int generationOf(long entryData) {
+        return (int) (entryData >>> GENERATION_SHIFT) & 0xFF;
+    }
+}
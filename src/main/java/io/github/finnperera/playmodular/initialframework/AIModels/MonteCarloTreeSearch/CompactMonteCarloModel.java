@@ -0,0 +1,296 @@
+package io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTreeSearch;
+
+import io.github.finnperera.playmodular.initialframework.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+    Single threaded MCTS that keeps the tree in primitive arrays instead of MCTSNode objects.
+    A node is an index, its statistics, first child, child count and the packed move leading to it
+    sit at that index in each array (28 bytes a node). All children of a node are allocated as one
+    contiguous block when it is expanded. Nodes keep no parent link, backpropagation follows the selection path.
+    No game states are stored: one SearchableGame copy is walked down the tree with applyMove and brought
+    back to the root with undoMove after every iteration.
+ */
+public class CompactMonteCarloModel<P, T> implements AI<P, T>, ConfigurableOptions, LoggableComponent {
+
+    private static final String OPT_MAX_MOVES = "Maximum Moves";
+    private static final String OPT_ITERATIONS = "Iterations";
+    private static final String OPT_EXPLO_CONST = "Exploration Constant";
+    private static final String OPT_NODE_LIMIT = "Node limit (thousands)";
+    private static final String OPT_TIME_BUDGET = "Time per move (ms)";
+    private static final String OPT_ROLLOUT_EPSILON = "Rollout epsilon";
+    private static final String OPT_ROLLOUT_CUTOFF = "Rollout cutoff (plies)";
+    private static final String OPT_EVALUATION_SCALE = "Cutoff evaluation scale";
+
+    private static final String DESC_MAX_MOVES = "Number of moves simulated before becoming a draw";
+    private static final String DESC_EXPLORATION_CONSTANT =
+            "Factor for exploration (high) or exploitation (low) on nodes, typically at sqrt(2)";
+    private static final String DESC_ITERATIONS = "Number of game simulations run for each move";
+    private static final String DESC_NODE_LIMIT = "Most nodes the tree may hold, once reached leaves stop being expanded";
+    private static final String DESC_TIME_BUDGET = "Search until this time runs out instead of for a number of iterations," +
+            " 0 uses the iteration count";
+    private static final String DESC_ROLLOUT_EPSILON = "Chance of a random playout move, otherwise the move with the best" +
+            " static score is played. 1 for fully random playouts, needs a heuristic";
+    private static final String DESC_ROLLOUT_CUTOFF = "Score playouts with the heuristic after this many moves," +
+            " 0 plays on to the maximum moves";
+    private static final String DESC_EVALUATION_SCALE = "Heuristic evaluation that counts as about three quarters of a win" +
+            " when a playout is cut off";
+
+    private static final int ROOT = 0;
+    private static final int UNEXPANDED = -1;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    public double explorationConstant = 1.41;
+    public int maxMoves = 150;
+    private int iterations = 10000;
+    private int nodeLimitThousands = 1000;
+    private int timeBudgetMs = 0;
+    private int lastIterations;
+    private double rolloutEpsilon = 1.0;
+    private int rolloutCutoff = 0;
+    private double evaluationScale = 300.0;
+    private final Heuristic<P, T> heuristic; // null keeps playouts uniformly random
+    private RolloutPolicy<P, T> rolloutPolicy;
+
+    // node storage, index is the node
+    private int nodeCount;
+    private int[] visits = new int[INITIAL_CAPACITY];
+    private double[] valueSums = new double[INITIAL_CAPACITY]; // from the point of view of the player who made the move
+    private int[] firstChildren = new int[INITIAL_CAPACITY];
+    private int[] childCounts = new int[INITIAL_CAPACITY];
+    private long[] packedMoves = new long[INITIAL_CAPACITY];
+
+    // current selection path, reused between iterations
+    private int[] path = new int[64];
+    private boolean[] movedByRootPlayer = new boolean[64];
+    private int pathLength;
+
+    public CompactMonteCarloModel() {
+        this(null);
+    }
+
+    public CompactMonteCarloModel(Heuristic<P, T> heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public Move<P, T> getNextMove(Game<P, T> game, List<? extends Move<P, T>> moves) {
+        if (!(game instanceof SearchableGame<P, T> searchable)) {
+            throw new IllegalArgumentException("Compact tree search needs a SearchableGame: " + game.getClass().getName());
+        }
+
+        SearchableGame<P, T> state = searchable.copyForSearch();
+        Player rootPlayer = state.getCurrentPlayer();
+        rolloutPolicy = heuristic == null ? RolloutPolicy.uniformRandom()
+                : new RolloutPolicy<>(heuristic, rolloutEpsilon, rolloutCutoff, evaluationScale);
+
+        nodeCount = 0;
+        allocate(1);
+        expand(ROOT, state, moves);
+
+        SearchBudget budget = new SearchBudget(timeBudgetMs > 0 ? 0 : iterations, timeBudgetMs, 0);
+        PlayoutEngine<P, T> playoutEngine = state.createPlayoutEngine();
+        while (budget.tryStartIteration()) {
+            runIteration(state, rootPlayer, budget, playoutEngine);
+        }
+        lastIterations = budget.getStartedIterations();
+        return getBestMove(state, moves);
+    }
+
+    private void runIteration(SearchableGame<P, T> state, Player rootPlayer, SearchBudget budget,
+                              PlayoutEngine<P, T> playoutEngine) {
+        int node = ROOT;
+        pathLength = 0;
+        pushPath(node, false);
+
+        // selection, stops at the first child that has never been simulated
+        while (firstChildren[node] != UNEXPANDED && childCounts[node] > 0) {
+            node = descend(state, node, rootPlayer);
+            if (visits[node] == 0) break;
+        }
+
+        // expansion, a leaf is only expanded once it has been simulated from
+        if (visits[node] > 0 && firstChildren[node] == UNEXPANDED && !state.isTerminalState()
+                && expand(node, state, state.getAvailableMoves(state.getCurrentPlayer())) && childCounts[node] > 0) {
+            node = descend(state, node, rootPlayer);
+        }
+
+        // random playout from the end of the path, NaN if the budget ran out of time
+        double score = playoutEngine.playout(state, rootPlayer, maxMoves, rolloutPolicy, budget::isOutOfTime, null);
+
+        for (int i = 0; i < pathLength && !Double.isNaN(score); i++) {
+            int pathNode = path[i];
+            visits[pathNode]++;
+            valueSums[pathNode] += movedByRootPlayer[i] ? score : -score;
+        }
+
+        // back to the root for the next iteration
+        for (int i = 1; i < pathLength; i++) {
+            state.undoMove();
+        }
+    }
+
+    private int descend(SearchableGame<P, T> state, int node, Player rootPlayer) {
+        int child = selectChild(node);
+        boolean rootPlayerMoving = state.getCurrentPlayer().getPlayerID().equals(rootPlayer.getPlayerID());
+        state.applyMove(state.decodeMove(packedMoves[child]));
+        pushPath(child, rootPlayerMoving);
+        return child;
+    }
+
+    private int selectChild(int node) {
+        int first = firstChildren[node];
+        int end = first + childCounts[node];
+        double logParentVisits = Math.log(Math.max(1, visits[node]));
+
+        int bestChild = first;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < end; child++) {
+            if (visits[child] == 0) return child;
+
+            double score = valueSums[child] / visits[child]
+                    + explorationConstant * Math.sqrt(logParentVisits / visits[child]);
+            if (score > bestScore) {
+                bestScore = score;
+                bestChild = child;
+            }
+        }
+        return bestChild;
+    }
+
+    // returns false once the node limit is reached, the node then stays a leaf
+    private boolean expand(int node, SearchableGame<P, T> state, List<? extends Move<P, T>> moves) {
+        int first = allocate(moves.size());
+        if (first == UNEXPANDED) return false;
+
+        for (int i = 0; i < moves.size(); i++) {
+            packedMoves[first + i] = state.encodeMove(moves.get(i));
+        }
+        firstChildren[node] = first;
+        childCounts[node] = moves.size();
+        return true;
+    }
+
+    private Move<P, T> getBestMove(SearchableGame<P, T> state, List<? extends Move<P, T>> moves) {
+        int first = firstChildren[ROOT];
+        if (first == UNEXPANDED || childCounts[ROOT] == 0) {
+            return moves.get(ThreadLocalRandom.current().nextInt(moves.size()));
+        }
+
+        int bestChild = first;
+        for (int child = first + 1; child < first + childCounts[ROOT]; child++) {
+            if (valueSums[child] > valueSums[bestChild]) {
+                bestChild = child;
+            }
+        }
+
+        // hand back the caller's own move object rather than a decoded copy
+        long packedMove = packedMoves[bestChild];
+        for (Move<P, T> move : moves) {
+            if (state.encodeMove(move) == packedMove) return move;
+        }
+        return state.decodeMove(packedMove);
+    }
+
+    // first index of count new nodes, UNEXPANDED if the node limit would be exceeded
+    private int allocate(int count) {
+        long limit = nodeLimitThousands * 1000L;
+        if (nodeCount + count > limit) return UNEXPANDED;
+
+        int required = nodeCount + count;
+        if (required > visits.length) {
+            int newCapacity = (int) Math.min(limit, Math.max(required, visits.length * 2L));
+            visits = Arrays.copyOf(visits, newCapacity);
+            valueSums = Arrays.copyOf(valueSums, newCapacity);
+            firstChildren = Arrays.copyOf(firstChildren, newCapacity);
+            childCounts = Arrays.copyOf(childCounts, newCapacity);
+            packedMoves = Arrays.copyOf(packedMoves, newCapacity);
+        }
+
+        int first = nodeCount;
+        Arrays.fill(visits, first, required, 0);
+        Arrays.fill(valueSums, first, required, 0.0);
+        Arrays.fill(firstChildren, first, required, UNEXPANDED);
+        Arrays.fill(childCounts, first, required, 0);
+        nodeCount = required;
+        return first;
+    }
+
+    private void pushPath(int node, boolean rootPlayerMoved) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, pathLength * 2);
+            movedByRootPlayer = Arrays.copyOf(movedByRootPlayer, pathLength * 2);
+        }
+        path[pathLength] = node;
+        movedByRootPlayer[pathLength] = rootPlayerMoved;
+        pathLength++;
+    }
+
+    @Override
+    public List<Option<?>> getOptions() {
+        return List.of(
+                new Option<>(OPT_MAX_MOVES, DESC_MAX_MOVES, OptionType.SPINNER, Integer.class, maxMoves, 10, 1000),
+                new Option<>(OPT_EXPLO_CONST, DESC_EXPLORATION_CONSTANT, OptionType.SPINNER, Double.class, explorationConstant, 0.1, 10.0),
+                new Option<>(OPT_ITERATIONS, DESC_ITERATIONS, OptionType.SPINNER, Integer.class, iterations, 1, 10_000_000),
+                new Option<>(OPT_NODE_LIMIT, DESC_NODE_LIMIT, OptionType.SPINNER, Integer.class, nodeLimitThousands, 1, 100_000),
+                new Option<>(OPT_TIME_BUDGET, DESC_TIME_BUDGET, OptionType.SPINNER, Integer.class, timeBudgetMs, 0, 600_000),
+                new Option<>(OPT_ROLLOUT_EPSILON, DESC_ROLLOUT_EPSILON, OptionType.SPINNER, Double.class, rolloutEpsilon, 0.0, 1.0),
+                new Option<>(OPT_ROLLOUT_CUTOFF, DESC_ROLLOUT_CUTOFF, OptionType.SPINNER, Integer.class, rolloutCutoff, 0, 1000),
+                new Option<>(OPT_EVALUATION_SCALE, DESC_EVALUATION_SCALE, OptionType.SPINNER, Double.class, evaluationScale, 1.0, 100_000.0)
+        );
+    }
+
+    @Override
+    public void setOptions(List<Option<?>> options) {
+        for (Option<?> option : options) {
+            switch (option.getName()) {
+                case OPT_MAX_MOVES:
+                    maxMoves = (Integer) option.getValue();
+                    break;
+                case OPT_EXPLO_CONST:
+                    explorationConstant = (Double) option.getValue();
+                    break;
+                case OPT_ITERATIONS:
+                    iterations = (Integer) option.getValue();
+                    break;
+                case OPT_NODE_LIMIT:
+                    nodeLimitThousands = (Integer) option.getValue();
+                    break;
+                case OPT_TIME_BUDGET:
+                    timeBudgetMs = (Integer) option.getValue();
+                    break;
+                case OPT_ROLLOUT_EPSILON:
+                    rolloutEpsilon = (Double) option.getValue();
+                    break;
+                case OPT_ROLLOUT_CUTOFF:
+                    rolloutCutoff = (Integer) option.getValue();
+                    break;
+                case OPT_EVALUATION_SCALE:
+                    evaluationScale = (Double) option.getValue();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + option.getName());
+            }
+        }
+    }
+
+    @Override
+    public AI<P, T> copy(Player newPlayer) {
+        CompactMonteCarloModel<P, T> copy = new CompactMonteCarloModel<>(heuristic);
+        copy.setOptions(getOptions());
+        return copy;
+    }
+
+    @Override
+    public Map<String, Object> toLogMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("num tree nodes", nodeCount);
+        map.put("num iterations", lastIterations);
+        return map;
+    }
+}
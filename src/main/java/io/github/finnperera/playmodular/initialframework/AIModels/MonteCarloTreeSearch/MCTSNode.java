@@ -2,69 +2,259 @@ package io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTre
 
 import io.github.finnperera.playmodular.initialframework.Game;
 import io.github.finnperera.playmodular.initialframework.Move;
+import io.github.finnperera.playmodular.initialframework.SearchableGame;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/*
+    Node of the shared search tree, safe to use from many threads without locking.
+    The game state is never mutated once the node exists, so it can be read concurrently.
+    Expansion is lazy: the move list is generated the first time the node is selected (by one thread, the list is then
+    published through a volatile field) and children are created one at a time, each thread claiming the next untried
+    move with an atomic counter. Threads arriving while the moves are generated treat the node as a leaf.
+    totalValue is from the point of view of the player who made moveMade.
+    With AMAF tracking the node also keeps all-moves-as-first statistics for each of its moves, tried or not,
+    from the point of view of the player to move here. Moves are matched by their SearchableGame packed form.
+    With a transposition table children are shared by position hash, so the tree becomes a DAG and a node can have
+    several parents. moveMade is then only the move that first reached the node, use the parent's getMove instead.
+ */
 public class MCTSNode<P, T> { // P : Position, T : Tile/Piece
 
     private final Game<P, T> gameState;
-    private final MCTSNode<P, T> parent;
-    private List<MCTSNode<P, T>> children;
-    private AtomicInteger visits;
-    private double totalValue;
-    private Move<P, T> moveMade;
-    private List<? extends Move<P, T>> untriedMoves;
-
-    public MCTSNode(Game<P, T> gameState, MCTSNode<P, T> parent, List<? extends Move<P, T>> untriedMoves, Move<P, T> moveMade) {
+    private final Move<P, T> moveMade;
+    private final long packedMove; // moveMade packed by SearchableGame.encodeMove, only used for AMAF
+    private final boolean terminal;
+    private List<? extends Move<P, T>> untriedMoves; // only known up front for the root
+    private final AtomicBoolean movesClaimed = new AtomicBoolean(false);
+    private volatile Expansion<P, T> expansion; // null until the moves are generated
+    private final AtomicInteger nextUntried = new AtomicInteger(0);
+    private final AtomicInteger visits = new AtomicInteger(0);
+    private final AtomicInteger virtualLosses = new AtomicInteger(0); // threads currently searching below this node
+    private final AtomicLong totalValueBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+
+    // children.get(i) is the child for moves.get(i), null until that move is tried.
+    // The AMAF arrays are indexed the same way and are null when AMAF is not tracked.
+    private record Expansion<P, T>(List<? extends Move<P, T>> moves, AtomicReferenceArray<MCTSNode<P, T>> children,
+                                   long[] packedMoves, AtomicIntegerArray amafVisits, AtomicLongArray amafValueBits) {
+    }
+
+    public MCTSNode(Game<P, T> gameState, List<? extends Move<P, T>> untriedMoves, Move<P, T> moveMade) {
+        this(gameState, untriedMoves, moveMade, 0);
+    }
+
+    public MCTSNode(Game<P, T> gameState, Move<P, T> moveMade, long packedMove) {
+        this(gameState, null, moveMade, packedMove);
+    }
+
+    private MCTSNode(Game<P, T> gameState, List<? extends Move<P, T>> untriedMoves, Move<P, T> moveMade, long packedMove) {
         this.gameState = gameState;
-        this.parent = parent;
-        this.children = new ArrayList<>();
-        this.visits = new AtomicInteger(0);
-        this.totalValue = 0.0;
         this.moveMade = moveMade;
+        this.packedMove = packedMove;
         this.untriedMoves = untriedMoves;
+        this.terminal = gameState.isTerminalState();
+    }
+
+    // returns false while another thread is still generating this node's moves.
+    // AMAF statistics need a SearchableGame and are only set up by the first call.
+    public boolean prepareMoves(boolean trackAmaf) {
+        if (expansion != null) return true;
+        if (!movesClaimed.compareAndSet(false, true)) return expansion != null;
+
+        List<? extends Move<P, T>> moves = untriedMoves != null ? untriedMoves
+                : gameState.getAvailableMoves(gameState.getCurrentPlayer());
+        untriedMoves = null;
+
+        long[] packedMoves = null;
+        if (trackAmaf && gameState instanceof SearchableGame<P, T> searchable) {
+            packedMoves = new long[moves.size()];
+            for (int i = 0; i < packedMoves.length; i++) {
+                packedMoves[i] = searchable.encodeMove(moves.get(i));
+            }
+        }
+        expansion = new Expansion<>(moves, new AtomicReferenceArray<>(moves.size()), packedMoves,
+                packedMoves == null ? null : new AtomicIntegerArray(moves.size()),
+                packedMoves == null ? null : new AtomicLongArray(moves.size()));
+        return true;
+    }
+
+    public boolean hasUntriedMoves() {
+        Expansion<P, T> published = expansion;
+        return published != null && nextUntried.get() < published.moves().size();
+    }
+
+    // creates the child for the next untried move, null if every move has been tried or the moves are not ready
+    public MCTSNode<P, T> expandNext() {
+        return expandNext(null);
+    }
+
+    // with a transposition table, a child whose position is already in the search is shared instead of created.
+    // Positions are looked up by SearchableGame.getPositionHash, other games always get a new child
+    public MCTSNode<P, T> expandNext(Map<Long, MCTSNode<P, T>> transpositions) {
+        Expansion<P, T> published = expansion;
+        if (published == null) return null;
+
+        int index = nextUntried.getAndIncrement();
+        if (index >= published.moves().size()) return null;
+
+        Move<P, T> move = published.moves().get(index);
+        long packed = published.packedMoves() == null ? 0 : published.packedMoves()[index];
+        Game<P, T> nextState = gameState.makeMove(move);
+        MCTSNode<P, T> child = new MCTSNode<>(nextState, move, packed);
+        if (transpositions != null && nextState instanceof SearchableGame<P, T> searchable) {
+            MCTSNode<P, T> existing = transpositions.putIfAbsent(searchable.getPositionHash(), child);
+            if (existing != null) child = existing;
+        }
+        published.children().set(index, child);
+        return child;
+    }
+
+    public boolean hasAmaf() {
+        Expansion<P, T> published = expansion;
+        return published != null && published.packedMoves() != null;
+    }
+
+    public int getMoveCount() {
+        Expansion<P, T> published = expansion;
+        return published == null ? 0 : published.moves().size();
+    }
+
+    // only valid when hasAmaf
+    public long getPackedMove(int index) {
+        return expansion.packedMoves()[index];
+    }
+
+    // only valid when hasAmaf, a shared child may have been created by a different move than the one from here
+    public long getPackedMoveTo(MCTSNode<P, T> child) {
+        Expansion<P, T> published = expansion;
+        int expanded = getExpandedCount();
+        for (int i = 0; i < expanded; i++) {
+            if (published.children().get(i) == child) return published.packedMoves()[i];
+        }
+        return child.getPackedMove();
     }
 
-    public void expand() {
-        for (Move<P, T> move : new ArrayList<>(untriedMoves)) {
-            Game<P, T> newGameState = gameState.makeMove(move);
-            children.add(new MCTSNode<>(newGameState, this, newGameState.getAvailableMoves(newGameState.getCurrentPlayer()), move));
-            untriedMoves.remove(move);
+    // a shared child may have been created by a different move than the one from here
+    public Move<P, T> getMoveTo(MCTSNode<P, T> child) {
+        Expansion<P, T> published = expansion;
+        int expanded = getExpandedCount();
+        for (int i = 0; i < expanded; i++) {
+            if (published.children().get(i) == child) return published.moves().get(i);
         }
+        return child.getMoveMade();
+    }
+
+    public void addAmafValue(int index, double value) {
+        AtomicLongArray valueBits = expansion.amafValueBits();
+        long current;
+        long updated;
+        do {
+            current = valueBits.get(index);
+            updated = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value);
+        } while (!valueBits.compareAndSet(index, current, updated));
+        expansion.amafVisits().incrementAndGet(index);
+    }
+
+    public int getAmafVisits(int index) {
+        Expansion<P, T> published = expansion;
+        return published == null || published.amafVisits() == null ? 0 : published.amafVisits().get(index);
+    }
+
+    public double getAmafValue(int index) {
+        return Double.longBitsToDouble(expansion.amafValueBits().get(index));
     }
 
-    public synchronized void addValue(double value) {
-        this.totalValue += value;
+    public void addVirtualLoss() {
+        virtualLosses.incrementAndGet();
+    }
+
+    // for an iteration that was abandoned before it had a result
+    public void removeVirtualLoss() {
+        virtualLosses.decrementAndGet();
+    }
+
+    // records a finished simulation and releases the virtual loss taken when the node was selected
+    public void addValue(double value) {
+        addTotalValue(value);
         visits.incrementAndGet();
+        virtualLosses.decrementAndGet();
     }
 
-    public MCTSNode<P, T> getParent() {
-        return parent;
+    // statistics gathered outside this tree, such as another root parallel worker's
+    public void addStatistics(int visitCount, double value) {
+        addTotalValue(value);
+        visits.addAndGet(visitCount);
     }
 
+    private void addTotalValue(double value) {
+        long current;
+        long updated;
+        do {
+            current = totalValueBits.get();
+            updated = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value);
+        } while (!totalValueBits.compareAndSet(current, updated));
+    }
+
+    // children created so far, a child still being created by another thread is left out
     public List<MCTSNode<P, T>> getChildren() {
-        return children;
+        Expansion<P, T> published = expansion;
+        if (published == null) return List.of();
+
+        int expanded = getExpandedCount();
+        List<MCTSNode<P, T>> result = new ArrayList<>(expanded);
+        for (int i = 0; i < expanded; i++) {
+            MCTSNode<P, T> child = published.children().get(i);
+            if (child != null) result.add(child);
+        }
+        return result;
+    }
+
+    public Move<P, T> getMove(int index) {
+        return expansion.moves().get(index);
+    }
+
+    public MCTSNode<P, T> getChild(int index) {
+        Expansion<P, T> published = expansion;
+        return published == null ? null : published.children().get(index);
+    }
+
+    public int getExpandedCount() {
+        Expansion<P, T> published = expansion;
+        return published == null ? 0 : Math.min(nextUntried.get(), published.moves().size());
+    }
+
+    public boolean isTerminal() {
+        return terminal;
     }
 
     public int getVisits() {
         return visits.get();
     }
 
-    public synchronized double getTotalValue() {
-        return totalValue;
+    public int getVirtualLosses() {
+        return virtualLosses.get();
     }
 
-    public Game<P, T> getGameState() {
-        return gameState;
+    public double getTotalValue() {
+        return Double.longBitsToDouble(totalValueBits.get());
     }
 
-    public List<? extends Move<P, T>> getUntriedMoves() {
-        return untriedMoves;
+    public Game<P, T> getGameState() {
+        return gameState;
     }
 
     public Move<P,T> getMoveMade() {
         return moveMade;
     }
+
+    public long getPackedMove() {
+        return packedMove;
+    }
 }
@@ -4,58 +4,174 @@ import io.github.finnperera.playmodular.initialframework.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 
 /*
     Two ways to do MCTS:
     1. Recreate tree after every made move, root is current game state
-    2. Continue with old tree, prune other branches then continue using prior context
+    2. Continue with old tree, prune other branches then continue using prior context (Reuse tree option)
     Ways to pick final move:
     1. Most visits (most stable)
     2. Highest win rate (highest quality)
     3. Custom heuristic / mix of previous ways
+    Ways to search in parallel:
+    1. All threads share one tree, virtual loss keeps them apart
+    2. Each thread grows its own tree and only root move statistics are merged (Root parallel option)
  */
 public class MonteCarloModel<P, T> implements AI<P, T>, ConfigurableOptions {
 
     private static final String OPT_MAX_MOVES = "Maximum Moves";
     private static final String OPT_ITERATIONS = "Iterations";
     private static final String OPT_EXPLO_CONST = "Exploration Constant";
+    private static final String OPT_THREAD_COUNT = "Number of threads";
+    private static final String OPT_VIRTUAL_LOSS = "Virtual loss";
+    private static final String OPT_REUSE_TREE = "Reuse tree";
+    private static final String OPT_ROOT_PARALLEL = "Root parallel";
+    private static final String OPT_ROOT_MERGE_INTERVAL = "Root merge interval";
+    private static final String OPT_TRANSPOSITIONS = "Share transpositions";
+    private static final String OPT_PROGRESSIVE_WIDENING = "Progressive widening";
+    private static final String OPT_TIME_BUDGET = "Time per move (ms)";
+    private static final String OPT_NODE_LIMIT = "Node limit (thousands)";
+    private static final String OPT_ROLLOUT_EPSILON = "Rollout epsilon";
+    private static final String OPT_RAVE_EQUIVALENCE = "RAVE equivalence";
+    private static final String OPT_ROLLOUT_CUTOFF = "Rollout cutoff (plies)";
+    private static final String OPT_EVALUATION_SCALE = "Cutoff evaluation scale";
 
     private static final String DESC_MAX_MOVES = "Number of moves simulated before becoming a draw";
     private static final String DESC_EXPLORATION_CONSTANT =
             "Factor for exploration (high) or exploitation (low) on nodes, typically at sqrt(2)";
     private static final String DESC_ITERATIONS = "Number of game simulations run for each move";
+    private static final String DESC_THREAD_COUNT = "Number of search threads";
+    private static final String DESC_VIRTUAL_LOSS = "Losses counted against a node for each thread still searching below it, " +
+            "steers threads apart in the shared tree, 0 to disable";
+    private static final String DESC_REUSE_TREE = "Keep the subtree of the position reached after our move and the opponent's reply, " +
+            "instead of starting a new tree every move";
+    private static final String DESC_ROOT_PARALLEL = "Each thread searches its own tree and only the root move" +
+            " statistics are merged, instead of all threads sharing one tree. Tree reuse is skipped";
+    private static final String DESC_ROOT_MERGE_INTERVAL = "Iterations each root parallel thread runs between merging" +
+            " root statistics with the others, 0 merges once at the end";
+    private static final String DESC_TRANSPOSITIONS = "Positions reached by different move orders share one node" +
+            " and its statistics";
+    private static final String DESC_PROGRESSIVE_WIDENING = "A node gets a new child only while it has fewer than " +
+            "visits^x children, 0 expands one new child per visit until every move is tried";
+    private static final String DESC_TIME_BUDGET = "Search until this time runs out instead of for a number of iterations," +
+            " 0 uses the iteration count";
+    private static final String DESC_NODE_LIMIT = "Stop the search once it has created this many nodes, 0 for no limit";
+    private static final String DESC_ROLLOUT_EPSILON = "Chance of a random playout move, otherwise the move with the best" +
+            " static score is played. 1 for fully random playouts, needs a heuristic";
+    private static final String DESC_RAVE_EQUIVALENCE = "Visits at which a node's own value and its all-moves-as-first" +
+            " value are weighted about equally, 0 disables RAVE";
+    private static final String DESC_ROLLOUT_CUTOFF = "Score playouts with the heuristic after this many moves," +
+            " 0 plays on to the maximum moves";
+    private static final String DESC_EVALUATION_SCALE = "Heuristic evaluation that counts as about three quarters of a win" +
+            " when a playout is cut off";
     // Could make these final and have a default value in the options but not set until set options called?
     public double explorationConstant = 1.41; // Constant factor for UCB (sqrt(2) is a common val)
     public int maxMoves = 150;
     private MCTSNode<P, T> rootNode;
     private int iterations = 500;
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+    private int virtualLoss = 1;
+    private boolean reuseTree = false;
+    private boolean shareTranspositions = false;
+    private boolean rootParallel = false;
+    private int rootMergeInterval = 0;
+    private double progressiveWidening = 0.0;
+    private int timeBudgetMs = 0;
+    private int nodeLimitThousands = 0;
+    private double rolloutEpsilon = 1.0;
+    private int rolloutCutoff = 0;
+    private double evaluationScale = 300.0;
+    private double raveEquivalence = 0.0;
+    private final Heuristic<P, T> heuristic; // null keeps playouts uniformly random
+    private RolloutPolicy<P, T> rolloutPolicy;
 
     public MonteCarloModel() {
+        this(null);
+    }
+
+    public MonteCarloModel(Heuristic<P, T> heuristic) {
+        this.heuristic = heuristic;
     }
 
     @Override
     public Move<P, T> getNextMove(Game<P, T> game, List<? extends Move<P, T>> moves) {
-        rootNode = new MCTSNode<>(game, null, moves, null); // set root as current game state
-
-        int numThreads = Runtime.getRuntime().availableProcessors();
-        try (ExecutorService executor = Executors.newFixedThreadPool(numThreads)) {
-            List<Future<?>> futures = new ArrayList<>(numThreads);
-
-            for (int i = 0; i < numThreads; i++) {
-                futures.add(executor.submit(() -> {
-                    for (int j = 0; j < iterations / numThreads; j++) {
-                        try {
-                            MCTSNode<P, T> selectedNode = select();
-                            MCTSNode<P, T> expandedNode = expand(selectedNode);
-                            MCTSNode<P, T> selectedExpansion = getBestChild(expandedNode);
-                            Game<P, T> finalState = simulate(selectedExpansion);
-                            backpropagation(finalState, selectedExpansion);
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    }
-                }));
+        Player rootPlayer = game.getCurrentPlayer();
+        rolloutPolicy = heuristic == null ? RolloutPolicy.uniformRandom()
+                : new RolloutPolicy<>(heuristic, rolloutEpsilon, rolloutCutoff, evaluationScale);
+        // threads take iterations from the shared budget so none sits idle while others still have work
+        SearchBudget budget = new SearchBudget(timeBudgetMs > 0 ? 0 : iterations, timeBudgetMs, nodeLimitThousands * 1000L);
+
+        if (rootParallel) {
+            rootNode = null; // the private trees are dropped after the search, so there is nothing to reuse
+            return searchRootParallel(game, moves, rootPlayer, budget);
+        }
+
+        MCTSNode<P, T> reusableRoot = reuseTree ? findReusableRoot(game) : null;
+        // set root as current game state, dropping the old root prunes every other branch
+        rootNode = reusableRoot != null ? reusableRoot : new MCTSNode<>(game, new ArrayList<>(moves), null);
+        SearchTree<P, T> tree = new SearchTree<>(rootNode, newTranspositionTable(game, rootNode));
+
+        runOnAllThreads(() -> {
+            // engines keep working buffers and playouts mutate the root copy, so each thread gets its own
+            PlayoutEngine<P, T> playoutEngine = createPlayoutEngine(game);
+            SearchableGame<P, T> playoutGame = copyForPlayouts(game);
+            AmafMoves amafMoves = raveEquivalence > 0 && playoutEngine != null ? new AmafMoves() : null;
+            while (budget.tryStartIteration()) {
+                try {
+                    runIteration(tree, rootPlayer, budget, playoutEngine, playoutGame, amafMoves);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    playoutGame = copyForPlayouts(game); // a failed playout can leave moves applied
+                }
+            }
+        });
+        return getBestMove();
+    }
+
+    // every thread grows its own tree from the same root moves, only the root statistics are merged between them
+    private Move<P, T> searchRootParallel(Game<P, T> game, List<? extends Move<P, T>> moves, Player rootPlayer,
+                                          SearchBudget budget) {
+        RootStatistics rootStatistics = new RootStatistics(moves.size());
+
+        runOnAllThreads(() -> {
+            // same move order in every tree, so child i is moves.get(i) everywhere
+            MCTSNode<P, T> root = new MCTSNode<>(game, new ArrayList<>(moves), null);
+            SearchTree<P, T> tree = new SearchTree<>(root, newTranspositionTable(game, root));
+            RootStatistics.Contributor contributor = rootStatistics.newContributor();
+            PlayoutEngine<P, T> playoutEngine = createPlayoutEngine(game);
+            SearchableGame<P, T> playoutGame = copyForPlayouts(game);
+            AmafMoves amafMoves = raveEquivalence > 0 && playoutEngine != null ? new AmafMoves() : null;
+
+            int sinceMerge = 0;
+            while (budget.tryStartIteration()) {
+                try {
+                    runIteration(tree, rootPlayer, budget, playoutEngine, playoutGame, amafMoves);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    playoutGame = copyForPlayouts(game);
+                }
+                if (rootMergeInterval > 0 && ++sinceMerge >= rootMergeInterval) {
+                    contributor.publish(root);
+                    contributor.importOthers(root);
+                    sinceMerge = 0;
+                }
+            }
+            contributor.publish(root);
+        });
+
+        int bestIndex = rootStatistics.getBestIndex();
+        if (bestIndex < 0) return moves.get(ThreadLocalRandom.current().nextInt(moves.size())); // fallback
+        return moves.get(bestIndex);
+    }
+
+    // runs the search on every thread and waits for all of them to finish
+    private void runOnAllThreads(Runnable search) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            List<Future<?>> futures = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(search));
             }
 
             for (Future<?> future : futures) {
@@ -69,55 +185,138 @@ public class MonteCarloModel<P, T> implements AI<P, T>, ConfigurableOptions {
                 }
             }
         }
-        return getBestMove();
     }
 
-    // traverse tree, select best ucb until leaf or unexpanded.
-    private MCTSNode<P, T> select() {
-        System.out.println("Select Stage");
-        MCTSNode<P, T> current = rootNode;
+    // root of the last shared tree search, the next search may continue from one of its grandchildren
+    MCTSNode<P, T> getRootNode() {
+        return rootNode;
+    }
 
-        while (!current.getChildren().isEmpty() && !current.getUntriedMoves().isEmpty()) {
-            current = getBestChild(current);
-        }
+    private PlayoutEngine<P, T> createPlayoutEngine(Game<P, T> game) {
+        return game instanceof SearchableGame<P, T> searchable ? searchable.createPlayoutEngine() : null;
+    }
 
-        return current;
+    // the root position for one thread's playouts, each iteration plays the selected path on it and takes it back
+    private SearchableGame<P, T> copyForPlayouts(Game<P, T> game) {
+        return game instanceof SearchableGame<P, T> searchable ? searchable.copyForSearch() : null;
     }
 
-    private MCTSNode<P, T> getBestChild(MCTSNode<P, T> node) {
-        MCTSNode<P, T> bestChild = null;
-        double bestScore = Double.NEGATIVE_INFINITY;
+    // built for every search so positions pruned with the old root are released, a reused subtree is not re-added.
+    // null when transpositions are not shared
+    private Map<Long, MCTSNode<P, T>> newTranspositionTable(Game<P, T> game, MCTSNode<P, T> root) {
+        if (!shareTranspositions || !(game instanceof SearchableGame<P, T> searchable)) return null;
 
-        for (MCTSNode<P, T> child : node.getChildren()) {
-            double score = calculateUCB(child);
-            if (score > bestScore) {
-                bestChild = child;
-                bestScore = calculateUCB(child);
+        Map<Long, MCTSNode<P, T>> transpositions = new ConcurrentHashMap<>();
+        transpositions.put(searchable.getPositionHash(), root);
+        return transpositions;
+    }
+
+    // the previous search already explored this position if it is a grandchild of the old root.
+    // The hash only narrows the candidates, a grandchild is reused once its position is confirmed equal
+    private MCTSNode<P, T> findReusableRoot(Game<P, T> game) {
+        if (rootNode == null || !(game instanceof SearchableGame<P, T> searchable)) return null;
+
+        long positionHash = searchable.getPositionHash();
+        for (MCTSNode<P, T> child : rootNode.getChildren()) {
+            for (MCTSNode<P, T> grandchild : child.getChildren()) {
+                if (grandchild.getGameState() instanceof SearchableGame<P, T> state
+                        && state.getPositionHash() == positionHash && state.isSamePosition(searchable)) {
+                    return grandchild;
+                }
             }
         }
+        return null;
+    }
 
-        if (bestChild == null) {
-            throw new RuntimeException("It was here");
+    // the path only holds nodes whose virtual loss is still taken, so whatever is left when the iteration ends
+    // early, out of time or through an exception, is released and cannot keep steering other threads away
+    private void runIteration(SearchTree<P, T> tree, Player rootPlayer, SearchBudget budget, PlayoutEngine<P, T> playoutEngine,
+                              SearchableGame<P, T> playoutGame, AmafMoves amafMoves) {
+        List<MCTSNode<P, T>> path = new ArrayList<>();
+        try {
+            select(tree, budget, path);
+            if (amafMoves != null) amafMoves.clear();
+            double score = simulate(path, rootPlayer, budget, playoutEngine, playoutGame, amafMoves);
+            if (Double.isNaN(score)) return; // out of time, the result is discarded
+            if (amafMoves != null) updateAmaf(path, score, rootPlayer, amafMoves);
+            backpropagation(score, path, rootPlayer);
+        } finally {
+            path.forEach(MCTSNode::removeVirtualLoss);
         }
+    }
 
-        return bestChild;
+    // traverse tree, select best ucb until a new child is created, or a node that is terminal or not ready.
+    // Every node on the path takes a virtual loss so other threads are less likely to follow it.
+    // With shared transpositions the search stops before a node already on the path, so repeated positions cannot
+    // loop, and carries on through an expanded child that turned out to be a visited transposition.
+    private void select(SearchTree<P, T> tree, SearchBudget budget, List<MCTSNode<P, T>> path) {
+        MCTSNode<P, T> current = tree.root();
+        current.addVirtualLoss();
+        path.add(current);
+
+        while (!current.isTerminal() && current.prepareMoves(raveEquivalence > 0)) {
+            MCTSNode<P, T> child = shouldExpand(current) ? current.expandNext(tree.transpositions()) : null;
+            boolean expanded = child != null;
+            if (!expanded) child = getBestChild(current);
+            if (child == null) break; // no moves
+            if (tree.transpositions() != null && path.contains(child)) break; // cycle
+            if (expanded) budget.addNodes(1);
+            child.addVirtualLoss();
+            path.add(child);
+            current = child;
+            if (expanded && child.getVisits() == 0) break;
+        }
     }
 
-    private synchronized MCTSNode<P, T> expand(MCTSNode<P, T> node) {
-        System.out.println("Expand Stage");
+    // with progressive widening a node only gets another child once its visits have grown enough
+    private boolean shouldExpand(MCTSNode<P, T> node) {
+        if (!node.hasUntriedMoves()) return false;
+        if (progressiveWidening <= 0) return true;
+        return node.getExpandedCount() < Math.ceil(Math.pow(node.getVisits() + 1, progressiveWidening));
+    }
 
-        if (node.getGameState().isTerminalState()) return node; // end node
-        if (!node.getChildren().isEmpty()) return node; // already expanded
+    // null when the node has no children
+    private MCTSNode<P, T> getBestChild(MCTSNode<P, T> node) {
+        MCTSNode<P, T> bestChild = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        double logParentVisits = Math.log(Math.max(1, node.getVisits() + virtualLoss * node.getVirtualLosses()));
+
+        int expanded = node.getExpandedCount();
+        for (int i = 0; i < expanded; i++) {
+            MCTSNode<P, T> child = node.getChild(i);
+            if (child == null) continue; // still being created by another thread
+            double score = calculateUCB(child, logParentVisits, node, i);
+            if (bestChild == null || score > bestScore) {
+                bestChild = child;
+                bestScore = score;
+            }
+        }
 
-        node.expand();
-        return node;
+        return bestChild;
     }
 
-    private Game<P, T> simulate(MCTSNode<P, T> node) {
-        System.out.println("Simulate Stage");
-        Game<P, T> game = node.getGameState();
+    // score for the root player, NaN if the budget ran out of time during the playout
+    private double simulate(List<MCTSNode<P, T>> path, Player rootPlayer, SearchBudget budget, PlayoutEngine<P, T> playoutEngine,
+                            SearchableGame<P, T> playoutGame, PlayoutEngine.MoveListener listener) {
+        if (playoutGame != null) {
+            // node states are shared between threads, so the path is replayed on the thread's own root copy instead
+            int applied = 0;
+            try {
+                for (; applied + 1 < path.size(); applied++) {
+                    playoutGame.applyMove(path.get(applied).getMoveTo(path.get(applied + 1)));
+                }
+                return playoutEngine.playout(playoutGame, rootPlayer, maxMoves, rolloutPolicy, budget::isOutOfTime, listener);
+            } finally {
+                for (; applied > 0; applied--) {
+                    playoutGame.undoMove();
+                }
+            }
+        }
+
+        Game<P, T> game = path.getLast().getGameState();
         int depth = 0;
         while (!game.isTerminalState() && depth < maxMoves) {
+            if (budget.isOutOfTime()) return Double.NaN;
             List<? extends Move<P, T>> availableMoves = game.getAvailableMoves(game.getCurrentPlayer());
 
             if (availableMoves.isEmpty()) {
@@ -129,44 +328,40 @@ public class MonteCarloModel<P, T> implements AI<P, T>, ConfigurableOptions {
 
             depth++;
         }
-        System.out.println("Simulation finished with depth: " + depth);
-
-        return game;
+        return PlayoutEngine.score(game, rootPlayer); // 0 if the game timed out
     }
 
-    private void backpropagation(Game<P, T> game, MCTSNode<P, T> returnNode) {
-        System.out.println("BackPropagating Stage");
-        double score;
-        if (game.isTerminalState()) {
-            GameResult result = game.getGameResult(rootNode.getGameState().getCurrentPlayer());
-            if (result == GameResult.WIN) {
-                score = 1;
-            } else if (result == GameResult.LOSS) {
-                score = -1;
-            } else {
-                score = 0;
-            }
-        } else { // game timed out
-            score = 0;
-        }
+    // every move played after a node, in the tree or the playout, counts as if it had been played first from that node
+    private void updateAmaf(List<MCTSNode<P, T>> path, double score, Player rootPlayer, AmafMoves amafMoves) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            MCTSNode<P, T> node = path.get(i);
+            if (!node.hasAmaf()) continue;
 
-        MCTSNode<P, T> current = returnNode;
-        while (current != null) {
-            synchronized (current) {
+            boolean rootPlayerToMove = node.getGameState().getCurrentPlayer().getPlayerID().equals(rootPlayer.getPlayerID());
+            if (i + 1 < path.size()) amafMoves.played(rootPlayerToMove, node.getPackedMoveTo(path.get(i + 1)));
 
-                boolean isMaxPlayer = current.getGameState().getCurrentPlayer().getPlayerID()
-                        .equals(rootNode.getGameState().getCurrentPlayer().getPlayerID());
-                current.addValue(!isMaxPlayer ? score : -score);
+            PackedMoveSet playedMoves = amafMoves.movesBy(rootPlayerToMove);
+            if (playedMoves.size() == 0) continue;
+            double value = rootPlayerToMove ? score : -score;
+            for (int j = 0; j < node.getMoveCount(); j++) {
+                if (playedMoves.contains(node.getPackedMove(j))) node.addAmafValue(j, value);
             }
-            current = current.getParent();
         }
+    }
 
+    // leaf first, each node leaves the path once addValue has turned its virtual loss into a visit
+    private void backpropagation(double score, List<MCTSNode<P, T>> path, Player rootPlayer) {
+        while (!path.isEmpty()) {
+            MCTSNode<P, T> node = path.getLast();
+            boolean isMaxPlayer = node.getGameState().getCurrentPlayer().getPlayerID().equals(rootPlayer.getPlayerID());
+            node.addValue(!isMaxPlayer ? score : -score);
+            path.remove(path.size() - 1);
+        }
     }
 
     private Move<P, T> getBestMove() {
         // fallback
         if (rootNode.getChildren().isEmpty()) {
-            System.out.println("RootNode does not have children");
             List<? extends Move<P, T>> availableMoves = rootNode.getGameState().getAvailableMoves(rootNode.getGameState().getCurrentPlayer());
             return availableMoves.get(ThreadLocalRandom.current().nextInt(availableMoves.size()));
         }
@@ -184,23 +379,34 @@ public class MonteCarloModel<P, T> implements AI<P, T>, ConfigurableOptions {
         // For Maximising Score
         double highestScore = Double.NEGATIVE_INFINITY;
         Move<P, T> bestMove = null;
-        for (MCTSNode<P, T> node : rootNode.getChildren()) {
-            if (node.getTotalValue() > highestScore) {
+        // by index, a shared child's own moveMade may not be playable from the root
+        int expanded = rootNode.getExpandedCount();
+        for (int i = 0; i < expanded; i++) {
+            MCTSNode<P, T> node = rootNode.getChild(i);
+            if (node != null && node.getTotalValue() > highestScore) {
                 highestScore = node.getTotalValue();
-                bestMove = node.getMoveMade();
+                bestMove = rootNode.getMove(i);
             }
         }
-        System.out.println("Best Move Score: " + highestScore);
         return bestMove;
     }
 
-    private double calculateUCB(MCTSNode<P, T> node) {
-        if (node.getVisits() == 0) {
+    // each virtual loss counts as a visit that lost for the player choosing this node.
+    // With RAVE the value is blended with the parent's AMAF value for the move, weighted by sqrt(k / (3n + k))
+    private double calculateUCB(MCTSNode<P, T> node, double logParentVisits, MCTSNode<P, T> parent, int moveIndex) {
+        int pending = virtualLoss * node.getVirtualLosses();
+        int visits = node.getVisits() + pending;
+        if (visits == 0) {
             return Double.POSITIVE_INFINITY;
         }
 
-        double v = node.getTotalValue() / node.getVisits();
-        double explorationTerm = Math.sqrt(Math.log(node.getParent().getVisits()) / node.getVisits());
+        double v = (node.getTotalValue() - pending) / visits;
+        int amafVisits = parent.getAmafVisits(moveIndex);
+        if (raveEquivalence > 0 && amafVisits > 0) {
+            double beta = Math.sqrt(raveEquivalence / (3 * visits + raveEquivalence));
+            v = (1 - beta) * v + beta * parent.getAmafValue(moveIndex) / amafVisits;
+        }
+        double explorationTerm = Math.sqrt(logParentVisits / visits);
 
         return v + explorationConstant * explorationTerm;
     }
@@ -210,7 +416,20 @@ public class MonteCarloModel<P, T> implements AI<P, T>, ConfigurableOptions {
         return List.of(
                 new Option<>(OPT_MAX_MOVES, DESC_MAX_MOVES, OptionType.SPINNER, Integer.class, maxMoves, 10, 1000),
                 new Option<>(OPT_EXPLO_CONST, DESC_EXPLORATION_CONSTANT, OptionType.SPINNER, Double.class, explorationConstant, 0.1, 10.0),
-                new Option<>(OPT_ITERATIONS, DESC_ITERATIONS, OptionType.SPINNER, Integer.class, iterations, 1, 10000)
+                new Option<>(OPT_ITERATIONS, DESC_ITERATIONS, OptionType.SPINNER, Integer.class, iterations, 1, 10000),
+                new Option<>(OPT_THREAD_COUNT, DESC_THREAD_COUNT, OptionType.SPINNER, Integer.class, threadCount, 1, Runtime.getRuntime().availableProcessors()),
+                new Option<>(OPT_VIRTUAL_LOSS, DESC_VIRTUAL_LOSS, OptionType.SPINNER, Integer.class, virtualLoss, 0, 10),
+                new Option<>(OPT_REUSE_TREE, DESC_REUSE_TREE, OptionType.TOGGLE, Boolean.class, reuseTree, null, null),
+                new Option<>(OPT_ROOT_PARALLEL, DESC_ROOT_PARALLEL, OptionType.TOGGLE, Boolean.class, rootParallel, null, null),
+                new Option<>(OPT_ROOT_MERGE_INTERVAL, DESC_ROOT_MERGE_INTERVAL, OptionType.SPINNER, Integer.class, rootMergeInterval, 0, 100_000),
+                new Option<>(OPT_TRANSPOSITIONS, DESC_TRANSPOSITIONS, OptionType.TOGGLE, Boolean.class, shareTranspositions, null, null),
+                new Option<>(OPT_PROGRESSIVE_WIDENING, DESC_PROGRESSIVE_WIDENING, OptionType.SPINNER, Double.class, progressiveWidening, 0.0, 1.0),
+                new Option<>(OPT_TIME_BUDGET, DESC_TIME_BUDGET, OptionType.SPINNER, Integer.class, timeBudgetMs, 0, 600_000),
+                new Option<>(OPT_NODE_LIMIT, DESC_NODE_LIMIT, OptionType.SPINNER, Integer.class, nodeLimitThousands, 0, 100_000),
+                new Option<>(OPT_RAVE_EQUIVALENCE, DESC_RAVE_EQUIVALENCE, OptionType.SPINNER, Double.class, raveEquivalence, 0.0, 100_000.0),
+                new Option<>(OPT_ROLLOUT_EPSILON, DESC_ROLLOUT_EPSILON, OptionType.SPINNER, Double.class, rolloutEpsilon, 0.0, 1.0),
+                new Option<>(OPT_ROLLOUT_CUTOFF, DESC_ROLLOUT_CUTOFF, OptionType.SPINNER, Integer.class, rolloutCutoff, 0, 1000),
+                new Option<>(OPT_EVALUATION_SCALE, DESC_EVALUATION_SCALE, OptionType.SPINNER, Double.class, evaluationScale, 1.0, 100_000.0)
         );
     }
 
@@ -227,6 +446,45 @@ public class MonteCarloModel<P, T> implements AI<P, T>, ConfigurableOptions {
                 case OPT_ITERATIONS:
                     iterations = (Integer) option.getValue();
                     break;
+                case OPT_THREAD_COUNT:
+                    threadCount = (Integer) option.getValue();
+                    break;
+                case OPT_VIRTUAL_LOSS:
+                    virtualLoss = (Integer) option.getValue();
+                    break;
+                case OPT_REUSE_TREE:
+                    reuseTree = (Boolean) option.getValue();
+                    break;
+                case OPT_ROOT_PARALLEL:
+                    rootParallel = (Boolean) option.getValue();
+                    break;
+                case OPT_ROOT_MERGE_INTERVAL:
+                    rootMergeInterval = (Integer) option.getValue();
+                    break;
+                case OPT_TRANSPOSITIONS:
+                    shareTranspositions = (Boolean) option.getValue();
+                    break;
+                case OPT_PROGRESSIVE_WIDENING:
+                    progressiveWidening = (Double) option.getValue();
+                    break;
+                case OPT_TIME_BUDGET:
+                    timeBudgetMs = (Integer) option.getValue();
+                    break;
+                case OPT_RAVE_EQUIVALENCE:
+                    raveEquivalence = (Double) option.getValue();
+                    break;
+                case OPT_ROLLOUT_EPSILON:
+                    rolloutEpsilon = (Double) option.getValue();
+                    break;
+                case OPT_ROLLOUT_CUTOFF:
+                    rolloutCutoff = (Integer) option.getValue();
+                    break;
+                case OPT_EVALUATION_SCALE:
+                    evaluationScale = (Double) option.getValue();
+                    break;
+                case OPT_NODE_LIMIT:
+                    nodeLimitThousands = (Integer) option.getValue();
+                    break;
                 default:
                     throw new IllegalArgumentException("Unknown option: " + option.getName());
             }
@@ -235,9 +493,33 @@ public class MonteCarloModel<P, T> implements AI<P, T>, ConfigurableOptions {
 
     @Override
     public AI<P, T> copy(Player newPlayer) {
-        AI<P, T> copy = new MonteCarloModel<>();
+        AI<P, T> copy = new MonteCarloModel<>(heuristic);
         ConfigurableOptions configurable = (ConfigurableOptions) copy;
         configurable.setOptions(getOptions());
         return copy;
     }
+
+    // a tree and its transposition table, shared by every thread or private to one in root parallel mode
+    private record SearchTree<P, T>(MCTSNode<P, T> root, Map<Long, MCTSNode<P, T>> transpositions) {
+    }
+
+    // moves played during one iteration, split by whether the root player made them. One per search thread
+    private static final class AmafMoves implements PlayoutEngine.MoveListener {
+        private final PackedMoveSet rootPlayerMoves = new PackedMoveSet();
+        private final PackedMoveSet opponentMoves = new PackedMoveSet();
+
+        @Override
+        public void played(boolean byPlayer, long packedMove) {
+            movesBy(byPlayer).add(packedMove);
+        }
+
+        PackedMoveSet movesBy(boolean rootPlayer) {
+            return rootPlayer ? rootPlayerMoves : opponentMoves;
+        }
+
+        void clear() {
+            rootPlayerMoves.clear();
+            opponentMoves.clear();
+        }
+    }
 }
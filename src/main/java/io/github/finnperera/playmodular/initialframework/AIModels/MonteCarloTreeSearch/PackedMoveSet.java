@@ -0,0 +1,70 @@
+package io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTreeSearch;
+
+import java.util.Arrays;
+
+/**
+ * Set of moves packed by SearchableGame.encodeMove, kept in primitive arrays so recording a playout move never boxes.
+ * Open addressing with linear probing. Every slot is stamped with the generation it was written in and older stamps
+ * count as empty, so clear is constant time however many moves the last iteration played.
+ * Not thread safe, each search thread keeps its own.
+ */
+class PackedMoveSet {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] stamps = new int[INITIAL_CAPACITY];
+    private int generation = 1;
+    private int size;
+
+    void add(long packedMove) {
+        if (size * 2 >= keys.length) grow(); // load factor at most one half
+        if (insert(keys, stamps, generation, packedMove)) size++;
+    }
+
+    boolean contains(long packedMove) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(packedMove, mask); stamps[slot] == generation; slot = (slot + 1) & mask) {
+            if (keys[slot] == packedMove) return true;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+        if (++generation == 0) { // wrapped around, stamps that old could look current again
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    private void grow() {
+        long[] grownKeys = new long[keys.length * 2];
+        int[] grownStamps = new int[keys.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            if (stamps[i] == generation) insert(grownKeys, grownStamps, generation, keys[i]);
+        }
+        keys = grownKeys;
+        stamps = grownStamps;
+    }
+
+    // false if the key was already in the table
+    private static boolean insert(long[] keys, int[] stamps, int generation, long key) {
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (stamps[slot] == generation) {
+            if (keys[slot] == key) return false;
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        stamps[slot] = generation;
+        return true;
+    }
+
+    private static int slotOf(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
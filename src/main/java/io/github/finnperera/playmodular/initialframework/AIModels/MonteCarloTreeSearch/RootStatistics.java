@@ -0,0 +1,101 @@
+package io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTreeSearch;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Root move statistics merged from the private trees of root parallel MCTS workers, indexed like the root's moves.
+ * Workers only exchange these totals, never nodes: each publishes what its own tree learned about the root moves and
+ * can import what the others have published so far, so every tree steers towards the moves the others found good.
+ */
+public class RootStatistics {
+    private final AtomicIntegerArray visits;
+    private final AtomicLongArray totalValueBits;
+
+    public RootStatistics(int moveCount) {
+        visits = new AtomicIntegerArray(moveCount);
+        totalValueBits = new AtomicLongArray(moveCount);
+    }
+
+    // one for each worker
+    public Contributor newContributor() {
+        return new Contributor();
+    }
+
+    public int getVisits(int index) {
+        return visits.get(index);
+    }
+
+    public double getTotalValue(int index) {
+        return Double.longBitsToDouble(totalValueBits.get(index));
+    }
+
+    // move with the highest merged value, -1 if no move was visited
+    public int getBestIndex() {
+        int bestIndex = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < visits.length(); i++) {
+            if (visits.get(i) > 0 && getTotalValue(i) > bestValue) {
+                bestIndex = i;
+                bestValue = getTotalValue(i);
+            }
+        }
+        return bestIndex;
+    }
+
+    private void add(int index, int visitCount, double value) {
+        long current;
+        long updated;
+        do {
+            current = totalValueBits.get(index);
+            updated = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value);
+        } while (!totalValueBits.compareAndSet(index, current, updated));
+        visits.addAndGet(index, visitCount);
+    }
+
+    /**
+     * Remembers what one worker has exchanged with the merged totals, so repeated merges only move the difference
+     * and statistics imported from other workers are never published back as the worker's own.
+     * Only used by the worker's own thread.
+     */
+    public class Contributor {
+        private final int[] publishedVisits = new int[visits.length()];
+        private final double[] publishedValues = new double[visits.length()];
+        private final int[] importedVisits = new int[visits.length()];
+        private final double[] importedValues = new double[visits.length()];
+
+        // adds what the worker's tree learned since the last merge
+        public void publish(MCTSNode<?, ?> root) {
+            int expanded = root.getExpandedCount();
+            for (int i = 0; i < expanded; i++) {
+                MCTSNode<?, ?> child = root.getChild(i);
+                if (child == null) continue;
+
+                int ownVisits = child.getVisits() - importedVisits[i];
+                double ownValue = child.getTotalValue() - importedValues[i];
+                add(i, ownVisits - publishedVisits[i], ownValue - publishedValues[i]);
+                publishedVisits[i] = ownVisits;
+                publishedValues[i] = ownValue;
+            }
+        }
+
+        // adds what the other workers published since the last merge, moves this tree has not tried yet wait
+        public void importOthers(MCTSNode<?, ?> root) {
+            int expanded = root.getExpandedCount();
+            int rootVisits = 0;
+            for (int i = 0; i < expanded; i++) {
+                MCTSNode<?, ?> child = root.getChild(i);
+                if (child == null) continue;
+
+                int newVisits = visits.get(i) - publishedVisits[i] - importedVisits[i];
+                double newValue = getTotalValue(i) - publishedValues[i] - importedValues[i];
+                if (newVisits <= 0) continue;
+                child.addStatistics(newVisits, newValue);
+                importedVisits[i] += newVisits;
+                importedValues[i] += newValue;
+                rootVisits += newVisits;
+            }
+            root.addStatistics(rootVisits, 0); // keeps the UCB exploration term in step with the children
+        }
+    }
+}
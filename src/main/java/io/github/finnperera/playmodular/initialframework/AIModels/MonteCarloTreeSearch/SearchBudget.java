@@ -0,0 +1,63 @@
+package io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTreeSearch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits one MCTS search by iterations, wall-clock time and created nodes, whichever runs out first.
+ * Search threads check it cooperatively: before each iteration, and for the time limit during playouts too,
+ * so an expired budget does not wait for long playouts to finish. Once a limit is hit no new iteration starts.
+ */
+public class SearchBudget {
+    private final int maxIterations; // 0 for no limit
+    private final long deadline; // System.nanoTime() value, 0 for no limit
+    private final long maxNodes; // 0 for no limit
+    private final AtomicInteger startedIterations = new AtomicInteger(0);
+    private final AtomicLong createdNodes = new AtomicLong(0);
+    private volatile boolean stopped = false;
+
+    public SearchBudget(int maxIterations, long timeBudgetMs, long maxNodes) {
+        if (maxIterations < 0 || timeBudgetMs < 0 || maxNodes < 0) {
+            throw new IllegalArgumentException("Search budget limits cannot be negative");
+        }
+        if (maxIterations == 0 && timeBudgetMs == 0) {
+            throw new IllegalArgumentException("Search budget needs an iteration or time limit");
+        }
+
+        this.maxIterations = maxIterations;
+        this.deadline = timeBudgetMs == 0 ? 0 : System.nanoTime() + timeBudgetMs * 1_000_000L;
+        this.maxNodes = maxNodes;
+    }
+
+    // claims the next iteration, false once the search should stop
+    public boolean tryStartIteration() {
+        if (stopped || isOutOfTime()) return false;
+        int started = startedIterations.incrementAndGet();
+        if (maxIterations > 0 && started > maxIterations) {
+            stopped = true;
+            return false;
+        }
+        return true;
+    }
+
+    // cheap enough to call every playout move, an iteration running out of time should be abandoned
+    public boolean isOutOfTime() {
+        return deadline != 0 && System.nanoTime() - deadline >= 0;
+    }
+
+    // in flight iterations still finish once the node limit is reached
+    public void addNodes(int count) {
+        if (maxNodes > 0 && createdNodes.addAndGet(count) >= maxNodes) {
+            stopped = true;
+        }
+    }
+
+    public void stop() {
+        stopped = true;
+    }
+
+    public int getStartedIterations() {
+        int started = startedIterations.get();
+        return maxIterations > 0 ? Math.min(started, maxIterations) : started;
+    }
+}
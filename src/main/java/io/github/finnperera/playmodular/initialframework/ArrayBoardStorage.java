@@ -0,0 +1,203 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Board storage backed by a flat array covering a square window of axial (q, r) coordinates.
+ * A position is packed into an array index by offsetting it against the window origin, so a lookup
+ * is a subtraction and a shift rather than hashing a {@link Hex} into a map.
+ * The window re-centres on the occupied hexes when a placement lands near an edge, and doubles in
+ * size when the occupied hexes no longer fit.
+ */
+public class ArrayBoardStorage<T> implements BoardStorage<Hex, T> {
+    private static final int DEFAULT_BITS = 5; // 32 x 32 window, comfortably larger than a full hive
+    private static final int EDGE_MARGIN = 2;
+
+    private int bits;
+    private int width;
+    private int originQ;
+    private int originR;
+    private Object[] pieces;
+    private Hex[] positions;
+    private int[] occupied; // packed indices of occupied cells, unordered
+    private int[] slots; // slot of a cell in occupied + 1, 0 when empty
+    private int size;
+
+    public ArrayBoardStorage() {
+        this(DEFAULT_BITS);
+    }
+
+    public ArrayBoardStorage(int bits) {
+        allocate(bits);
+        this.originQ = -width / 2;
+        this.originR = -width / 2;
+    }
+
+    // deep copy
+    public ArrayBoardStorage(ArrayBoardStorage<T> other, Function<T, T> deepCopyFunction) {
+        this.bits = other.bits;
+        this.width = other.width;
+        this.originQ = other.originQ;
+        this.originR = other.originR;
+        this.pieces = new Object[other.pieces.length];
+        this.positions = other.positions.clone();
+        this.occupied = other.occupied.clone();
+        this.slots = other.slots.clone();
+        this.size = other.size;
+        for (int i = 0; i < size; i++) {
+            int index = occupied[i];
+            pieces[index] = deepCopyFunction.apply(other.pieceAtIndex(index));
+        }
+    }
+
+    private void allocate(int bits) {
+        this.bits = bits;
+        this.width = 1 << bits;
+        int cells = width * width;
+        this.pieces = new Object[cells];
+        this.positions = new Hex[cells];
+        this.occupied = new int[cells];
+        this.slots = new int[cells];
+        this.size = 0;
+    }
+
+    // -1 when the position lies outside the current window
+    private int indexOf(Hex position) {
+        int column = position.getQ() - originQ;
+        int row = position.getR() - originR;
+        if (((column | row) & -width) != 0) return -1; // negative or >= width
+        return (row << bits) | column;
+    }
+
+    private boolean isNearEdge(int index) {
+        int column = index & (width - 1);
+        int row = index >>> bits;
+        return column < EDGE_MARGIN || row < EDGE_MARGIN
+                || column >= width - EDGE_MARGIN || row >= width - EDGE_MARGIN;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T pieceAtIndex(int index) {
+        return (T) pieces[index];
+    }
+
+    @Override
+    public T getPieceAt(Hex position) {
+        int index = indexOf(position);
+        return index < 0 ? null : pieceAtIndex(index);
+    }
+
+    @Override
+    public void placePieceAt(Hex position, T newPiece) {
+        assert !hasPieceAt(position): "Placing piece on occupied position";
+        int index = indexOf(position);
+        if (index < 0 || isNearEdge(index)) {
+            recentre(position);
+            index = indexOf(position);
+        }
+        insert(index, position, newPiece);
+    }
+
+    private void insert(int index, Hex position, Object piece) {
+        pieces[index] = piece;
+        positions[index] = position;
+        occupied[size] = index;
+        slots[index] = ++size;
+    }
+
+    @Override
+    public void removePieceAt(Hex position) {
+        assert hasPieceAt(position): "Removing from non-occupied position";
+        int index = indexOf(position);
+        if (index < 0 || slots[index] == 0) return;
+
+        // swap the last occupied cell into the freed slot
+        int slot = slots[index] - 1;
+        int last = occupied[--size];
+        occupied[slot] = last;
+        slots[last] = slot + 1;
+
+        slots[index] = 0;
+        pieces[index] = null;
+        positions[index] = null;
+    }
+
+    // Moves the window so the occupied hexes and the incoming position sit in the middle, growing if needed
+    private void recentre(Hex incoming) {
+        int minQ = incoming.getQ(), maxQ = incoming.getQ();
+        int minR = incoming.getR(), maxR = incoming.getR();
+        for (int i = 0; i < size; i++) {
+            Hex hex = positions[occupied[i]];
+            minQ = Math.min(minQ, hex.getQ());
+            maxQ = Math.max(maxQ, hex.getQ());
+            minR = Math.min(minR, hex.getR());
+            maxR = Math.max(maxR, hex.getR());
+        }
+
+        int span = Math.max(maxQ - minQ, maxR - minR) + 1 + 2 * EDGE_MARGIN;
+        int newBits = bits;
+        while ((1 << newBits) < span) newBits++;
+
+        Object[] oldPieces = pieces;
+        Hex[] oldPositions = positions;
+        int[] oldOccupied = Arrays.copyOf(occupied, size);
+
+        if (newBits != bits) {
+            allocate(newBits);
+        } else {
+            pieces = new Object[pieces.length];
+            positions = new Hex[positions.length];
+            Arrays.fill(slots, 0);
+            size = 0;
+        }
+        originQ = (minQ + maxQ) / 2 - width / 2;
+        originR = (minR + maxR) / 2 - width / 2;
+
+        for (int oldIndex : oldOccupied) {
+            Hex hex = oldPositions[oldIndex];
+            insert(indexOf(hex), hex, oldPieces[oldIndex]);
+        }
+    }
+
+    @Override
+    public List<Hex> getAllPositions() {
+        List<Hex> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(positions[occupied[i]]);
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> getAllPieces() {
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(pieceAtIndex(occupied[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean hasPieceAt(Hex position) {
+        int index = indexOf(position);
+        return index >= 0 && slots[index] != 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ArrayBoardStorage<T> copy(Function<T, T> deepCopyFunction) {
+        return new ArrayBoardStorage<>(this, deepCopyFunction);
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands finished games to a dedicated writer thread so game threads never wait on disk.
+ * Games are queued in a bounded queue and written in batches through the LoggingManager.
+ * A full queue blocks the submitting thread until the writer catches up,
+ * and close() writes everything still queued before returning.
+ * If the writer thread has died, games are written on the submitting thread instead of waiting on it.
+ */
+public class AsyncGameLogWriter implements AutoCloseable {
+    private static final int MAX_BATCH = 256;
+    private static final long OFFER_TIMEOUT_MS = 100; // how often a blocked submit checks the writer is still alive
+
+    private record PendingLog(String filePrefix, GameLog log) {}
+
+    private static final PendingLog SHUTDOWN = new PendingLog(null, null);
+
+    private final LoggingManager loggingManager;
+    private final BlockingQueue<PendingLog> queue;
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    public AsyncGameLogWriter(LoggingManager loggingManager, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.loggingManager = loggingManager;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writerThread = new Thread(this::writeLoop, "game-log-writer");
+        writerThread.setDaemon(true); // close() drains, a forgotten writer shouldn't keep the JVM alive
+        writerThread.start();
+    }
+
+    public void submit(String filePrefix, GameLog log) {
+        PendingLog pending = new PendingLog(filePrefix, log);
+        boolean queued = false;
+        try {
+            while (!closed && writerThread.isAlive()) {
+                if (queue.offer(pending, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    queued = true;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // after shutdown, or if the writer died, games are written directly. A game queued just as the writer
+        // stopped is taken back unless the writer's last drain already has it
+        if (!queued || ((closed || !writerThread.isAlive()) && queue.remove(pending))) {
+            loggingManager.addResultToFiles(filePrefix, log);
+        }
+        if (!writerThread.isAlive()) writeStranded();
+    }
+
+    // games left in the queue by a writer that died, only safe once the writer thread has stopped
+    private void writeStranded() {
+        List<PendingLog> stranded = new ArrayList<>();
+        queue.drainTo(stranded);
+        stranded.remove(SHUTDOWN);
+        writeBatch(stranded);
+    }
+
+    private void writeLoop() {
+        List<PendingLog> batch = new ArrayList<>(MAX_BATCH);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            if (batch.remove(SHUTDOWN)) {
+                running = false;
+                queue.drainTo(batch);
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PendingLog> batch) {
+        Map<String, List<GameLog>> logsByFile = new LinkedHashMap<>();
+        for (PendingLog pending : batch) {
+            logsByFile.computeIfAbsent(pending.filePrefix(), prefix -> new ArrayList<>()).add(pending.log());
+        }
+
+        for (Map.Entry<String, List<GameLog>> entry : logsByFile.entrySet()) {
+            try {
+                loggingManager.addResultsToFiles(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // keep the writer alive for the other sessions
+            }
+        }
+    }
+
+    // blocks until every queued game is written, then closes the logging manager's files
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        try {
+            while (writerThread.isAlive() && !queue.offer(SHUTDOWN, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                // wait for room, unless the writer has died
+            }
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeStranded();
+        loggingManager.close();
+    }
+}
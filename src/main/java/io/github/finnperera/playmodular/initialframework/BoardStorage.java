@@ -1,6 +1,7 @@
 package io.github.finnperera.playmodular.initialframework;
 
 import java.util.List;
+import java.util.function.Function;
 
 public interface BoardStorage<P, T> { // P : Position Type, T : Tile/Piece Type
     T getPieceAt(P position);
@@ -11,4 +12,5 @@ public interface BoardStorage<P, T> { // P : Position Type, T : Tile/Piece Type
     boolean hasPieceAt(P position);
     boolean isEmpty();
     int size();
+    BoardStorage<P, T> copy(Function<T, T> deepCopyFunction);
 }
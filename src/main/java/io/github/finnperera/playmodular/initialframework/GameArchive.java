@@ -0,0 +1,241 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Random access to the games of a binary game record file (see GameRecordWriter) through memory mapping.
+ * Game ids are looked up in a hash index kept next to the archive, so fetching a game costs one probe
+ * and one record decode no matter how many games come before it. The index is rebuilt whenever the
+ * archive has grown since it was written. Archives larger than 2GB are mapped in segments.
+ * The index is a single mapping, which caps an archive at MAX_GAMES games.
+ */
+public class GameArchive implements Closeable {
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private static final int INDEX_HEADER_BYTES = 24;
+    private static final int SLOT_BYTES = 24;
+    // largest power of two table whose mapping stays under 2GB
+    private static final int MAX_SLOTS = 1 << 26;
+    // the table is kept at most half full
+    public static final int MAX_GAMES = MAX_SLOTS / 2;
+
+    private final FileChannel archiveChannel;
+    private final MappedByteBuffer[] segments;
+    private final MappedByteBuffer index;
+    private final int slotMask;
+    private final int gameCount;
+
+    private GameArchive(File archiveFile, File indexFile) throws IOException {
+        try (FileChannel indexChannel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+            if (indexChannel.size() > indexBytes(MAX_SLOTS)) {
+                throw new IOException("Corrupt game index: " + indexFile);
+            }
+            this.index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+        }
+        int slots = index.getInt(16);
+        int games = index.getInt(20);
+        if (slots < 2 || slots > MAX_SLOTS || Integer.bitCount(slots) != 1
+                || index.capacity() != indexBytes(slots) || games < 0 || games > slots / 2) {
+            throw new IOException("Corrupt game index: " + indexFile);
+        }
+        this.slotMask = slots - 1;
+        this.gameCount = games;
+
+        this.archiveChannel = FileChannel.open(archiveFile.toPath(), StandardOpenOption.READ);
+        long archiveLength = archiveChannel.size();
+        int segmentCount = (int) ((archiveLength + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long start = i * SEGMENT_SIZE;
+            segments[i] = archiveChannel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(SEGMENT_SIZE, archiveLength - start));
+        }
+    }
+
+    // opens the archive, (re)building its index first if it is missing or out of date
+    public static GameArchive open(File archiveFile) throws IOException {
+        File indexFile = indexFileFor(archiveFile);
+        if (!isIndexCurrent(archiveFile, indexFile)) {
+            buildIndex(archiveFile);
+        }
+        return new GameArchive(archiveFile, indexFile);
+    }
+
+    public static File indexFileFor(File archiveFile) {
+        return new File(archiveFile.getPath() + ".idx");
+    }
+
+    private static boolean isIndexCurrent(File archiveFile, File indexFile) throws IOException {
+        if (!indexFile.exists() || indexFile.length() < INDEX_HEADER_BYTES) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            return in.readInt() == GameRecordFormat.INDEX_MAGIC
+                    && in.readInt() == GameRecordFormat.INDEX_VERSION
+                    && in.readLong() == archiveFile.length();
+        }
+    }
+
+    // scans the archive once, reading only each record's length and game id
+    public static void buildIndex(File archiveFile) throws IOException {
+        long archiveLength = archiveFile.length();
+        LongList ids = new LongList();
+        LongList offsets = new LongList();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(archiveFile), 1 << 16))) {
+            if (in.readInt() != GameRecordFormat.MAGIC) {
+                throw new IOException("Not a game record file: " + archiveFile);
+            }
+            int version = in.readUnsignedByte();
+            if (version != GameRecordFormat.VERSION) {
+                throw new IOException("Unsupported game record version: " + version);
+            }
+            int configLength = in.readInt();
+            in.skipNBytes(configLength);
+
+            long position = 4 + 1 + 4 + configLength;
+            while (position + 4 + 16 <= archiveLength) {
+                int length = in.readInt();
+                if (length < 16 || position + 4 + length > archiveLength) break; // partly written last record
+                if (offsets.size() == MAX_GAMES) {
+                    throw new IOException("Cannot index " + archiveFile + ", it holds more than " + MAX_GAMES + " games");
+                }
+                ids.add(in.readLong());
+                ids.add(in.readLong());
+                offsets.add(position);
+                in.skipNBytes(length - 16);
+                position += 4 + length;
+            }
+        }
+
+        int games = offsets.size();
+        int slots = Integer.highestOneBit(Math.max(2, games * 2 - 1)) << 1; // load factor at most one half
+        ByteBuffer table = ByteBuffer.allocate(Math.toIntExact(indexBytes(slots)));
+        table.putInt(GameRecordFormat.INDEX_MAGIC);
+        table.putInt(GameRecordFormat.INDEX_VERSION);
+        table.putLong(archiveLength);
+        table.putInt(slots);
+        table.putInt(games);
+        for (int i = 0; i < games; i++) {
+            long mostSignificant = ids.get(i * 2);
+            long leastSignificant = ids.get(i * 2 + 1);
+            int slot = slotOf(mostSignificant, leastSignificant, slots - 1);
+            while (true) {
+                int base = slotBase(slot);
+                if (table.getLong(base + 16) == 0) {
+                    table.putLong(base, mostSignificant);
+                    table.putLong(base + 8, leastSignificant);
+                    table.putLong(base + 16, offsets.get(i) + 1);
+                    break;
+                }
+                if (table.getLong(base) == mostSignificant && table.getLong(base + 8) == leastSignificant) {
+                    break; // duplicate id, the first copy wins
+                }
+                slot = (slot + 1) & (slots - 1);
+            }
+        }
+
+        try (FileOutputStream out = new FileOutputStream(indexFileFor(archiveFile))) {
+            out.write(table.array());
+        }
+    }
+
+    public int size() {
+        return gameCount;
+    }
+
+    public boolean contains(String gameID) {
+        return offsetOf(gameID) >= 0;
+    }
+
+    // null when the archive holds no game with this id
+    public GameRecord get(String gameID) throws IOException {
+        long offset = offsetOf(gameID);
+        if (offset < 0) return null;
+
+        byte[] lengthBytes = new byte[4];
+        readBytes(offset, lengthBytes);
+        int length = ByteBuffer.wrap(lengthBytes).getInt();
+        byte[] record = new byte[length];
+        readBytes(offset + 4, record);
+        return GameRecordReader.parse(new DataInputStream(new ByteArrayInputStream(record)));
+    }
+
+    private long offsetOf(String gameID) {
+        UUID id;
+        try {
+            id = UUID.fromString(gameID);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        long mostSignificant = id.getMostSignificantBits();
+        long leastSignificant = id.getLeastSignificantBits();
+
+        int slot = slotOf(mostSignificant, leastSignificant, slotMask);
+        while (true) {
+            int base = slotBase(slot);
+            long storedOffset = index.getLong(base + 16);
+            if (storedOffset == 0) return -1;
+            if (index.getLong(base) == mostSignificant && index.getLong(base + 8) == leastSignificant) {
+                return storedOffset - 1;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    // copies from the mapped segments, a record may straddle two of them
+    private void readBytes(long position, byte[] destination) {
+        int copied = 0;
+        while (copied < destination.length) {
+            long current = position + copied;
+            MappedByteBuffer segment = segments[(int) (current / SEGMENT_SIZE)];
+            int segmentOffset = (int) (current % SEGMENT_SIZE);
+            int count = Math.min(destination.length - copied, segment.capacity() - segmentOffset);
+            segment.get(segmentOffset, destination, copied, count);
+            copied += count;
+        }
+    }
+
+    private static long indexBytes(int slots) {
+        return INDEX_HEADER_BYTES + (long) slots * SLOT_BYTES;
+    }
+
+    // byte position of a slot, always within the mapping once the slot count is validated
+    private static int slotBase(int slot) {
+        return Math.toIntExact(INDEX_HEADER_BYTES + (long) slot * SLOT_BYTES);
+    }
+
+    private static int slotOf(long mostSignificant, long leastSignificant, int mask) {
+        long h = (mostSignificant ^ leastSignificant) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+
+    @Override
+    public void close() throws IOException {
+        archiveChannel.close();
+    }
+
+    // growable primitive list so indexing millions of games doesn't box every offset
+    private static class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
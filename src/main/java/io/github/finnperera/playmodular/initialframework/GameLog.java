@@ -14,6 +14,7 @@ public class GameLog {
     private int totalTurns;
     private Map<Player, GameResult> playerResults;
     private ArrayList<MoveData> moveList;
+    private Map<String, Object> playerLogs; // taken when the game ends, models keep changing once they play on
 
     public GameLog(Instant startTime, Instant endTime, Map<Player, GameResult> playerResults, int totalTurns,
                    ArrayList<MoveData> moveList) {
@@ -24,6 +25,7 @@ public class GameLog {
         this.playerResults = playerResults;
         this.totalTurns = totalTurns;
         this.moveList = new ArrayList<>(moveList);
+        this.playerLogs = createPlayerLogs();
     }
 
     public String getGameID() {
@@ -50,6 +52,10 @@ public class GameLog {
         return totalTurns;
     }
 
+    public List<MoveData> getMoveList() {
+        return Collections.unmodifiableList(moveList);
+    }
+
     public String[] toStringArray() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         String duration = formatDuration(totalTime);
@@ -77,9 +83,7 @@ public class GameLog {
         return String.format("%02d:%02d:%02d", hours, minutes, seconds);
     }
 
-    public Map<String, Object> toMap() {
-        Map<String, Object> map = new HashMap<>();
-        map.put("gameID", gameID);
+    private Map<String, Object> createPlayerLogs() {
         Map<String, Object> playerMap = new HashMap<>();
         for (Player player : playerResults.keySet()) {
             if (player.isAI()) {
@@ -92,7 +96,13 @@ public class GameLog {
                 playerMap.put(player.getPlayerID(), "logging not enabled");
             }
         }
-        map.put("players", playerMap);
+        return playerMap;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("gameID", gameID);
+        map.put("players", playerLogs);
         ArrayList<Map<String, Object>> moveMapList = new ArrayList<>();
         for (MoveData move : moveList) {
             Map<String, Object> moveMap = new LinkedHashMap<>();
@@ -0,0 +1,16 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A game read back from a binary game record file, see GameRecordWriter.
+ */
+public record GameRecord(String gameID, Instant startTime, Instant endTime, int totalTurns,
+                         List<PlayerResult> playerResults, List<RecordedMove> moves) {
+
+    public record PlayerResult(String playerID, GameResult result) {}
+
+    public record RecordedMove(HiveMove move, Duration thinkTime) {}
+}
@@ -0,0 +1,50 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/*
+Binary game record file layout, all numbers big endian:
+ header: magic (int), version (byte), config JSON length (int), config JSON (UTF-8)
+ then per game: record length (int) followed by
+  game id (two longs), start time (long epoch millis), duration millis (varint), turns (varint),
+  player count (byte) then per player: id (modified UTF-8), result ordinal (byte),
+  move count (varint) then per move: HiveMoveCodec packed move (long), think time millis (varint)
+
+Index file (<archive>.idx), written by GameArchive:
+ magic (int), version (int), archive length when indexed (long), slot count (int), game count (int)
+ then an open addressing hash table of slots: game id (two longs), record offset + 1 (long, 0 when empty)
+ */
+final class GameRecordFormat {
+    static final int MAGIC = 0x48475231; // "HGR1"
+    static final int VERSION = 2; // 1 packed moves into an int
+    static final int INDEX_MAGIC = 0x48474931; // "HGI1"
+    static final int INDEX_VERSION = 1;
+
+    private GameRecordFormat() {}
+
+    // 7 bits per byte, high bit set while more bytes follow, negative values are not expected
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        if (value < 0) throw new IllegalArgumentException("Negative varint: " + value);
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static int clampMillis(long millis) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, millis));
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams games back out of a file written by GameRecordWriter, one record at a time.
+ */
+public class GameRecordReader implements Closeable {
+    private static final GameResult[] RESULTS = GameResult.values();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DataInputStream in;
+    private final String configJson;
+
+    public GameRecordReader(File file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != GameRecordFormat.MAGIC) {
+                throw new IOException("Not a game record file: " + file);
+            }
+            int version = in.readUnsignedByte();
+            if (version != GameRecordFormat.VERSION) {
+                throw new IOException("Unsupported game record version: " + version);
+            }
+            byte[] config = new byte[in.readInt()];
+            in.readFully(config);
+            this.configJson = new String(config, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getConfig() throws IOException {
+        return objectMapper.readValue(configJson, Map.class);
+    }
+
+    // next game in the file, null once all games have been read
+    public GameRecord read() throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return parse(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    // lazily reads the remaining games, IO errors are rethrown unchecked
+    public Stream<GameRecord> records() {
+        Iterator<GameRecord> iterator = new Iterator<>() {
+            private GameRecord next = readUnchecked();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public GameRecord next() {
+                if (next == null) throw new NoSuchElementException();
+                GameRecord current = next;
+                next = readUnchecked();
+                return current;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private GameRecord readUnchecked() {
+        try {
+            return read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // also used by GameArchive to decode records it reads straight out of the mapped file
+    static GameRecord parse(DataInput record) throws IOException {
+        String gameID = new UUID(record.readLong(), record.readLong()).toString();
+        Instant startTime = Instant.ofEpochMilli(record.readLong());
+        Instant endTime = startTime.plusMillis(GameRecordFormat.readVarInt(record));
+        int totalTurns = GameRecordFormat.readVarInt(record);
+
+        int playerCount = record.readUnsignedByte();
+        List<GameRecord.PlayerResult> playerResults = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            playerResults.add(new GameRecord.PlayerResult(record.readUTF(), RESULTS[record.readUnsignedByte()]));
+        }
+
+        int moveCount = GameRecordFormat.readVarInt(record);
+        List<GameRecord.RecordedMove> moves = new ArrayList<>(moveCount);
+        for (int i = 0; i < moveCount; i++) {
+            HiveMove move = HiveMoveCodec.decode(record.readLong());
+            moves.add(new GameRecord.RecordedMove(move, Duration.ofMillis(GameRecordFormat.readVarInt(record))));
+        }
+
+        return new GameRecord(gameID, startTime, endTime, totalTurns, playerResults, moves);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
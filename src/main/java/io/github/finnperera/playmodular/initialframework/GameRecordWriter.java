@@ -0,0 +1,73 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes games in the compact binary format described in GameRecordFormat.
+ * Each move takes a packed long plus a usually one or two byte think time, instead of the nested maps of GameLog.toMap.
+ * Only Hive games can be written, the moves are packed with HiveMoveCodec.
+ */
+public class GameRecordWriter implements Closeable {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    private final DataOutputStream record = new DataOutputStream(recordBytes);
+
+    public GameRecordWriter(File file, boolean append) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, append)));
+    }
+
+    public synchronized void writeHeader(LoggableGameConfig loggableConfig) throws IOException {
+        byte[] config = objectMapper.writeValueAsString(loggableConfig.toLogMap()).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(GameRecordFormat.MAGIC);
+        out.writeByte(GameRecordFormat.VERSION);
+        out.writeInt(config.length);
+        out.write(config);
+        out.flush();
+    }
+
+    // buffered until flush, like JsonLinesLogWriter
+    public synchronized void write(GameLog log) throws IOException {
+        recordBytes.reset();
+
+        UUID gameID = UUID.fromString(log.getGameID());
+        record.writeLong(gameID.getMostSignificantBits());
+        record.writeLong(gameID.getLeastSignificantBits());
+        record.writeLong(log.getStartTime().toEpochMilli());
+        GameRecordFormat.writeVarInt(record, GameRecordFormat.clampMillis(log.getTotalTime().toMillis()));
+        GameRecordFormat.writeVarInt(record, log.getTotalTurns());
+
+        record.writeByte(log.getPlayerResults().size());
+        for (Map.Entry<Player, GameResult> entry : log.getPlayerResults().entrySet()) {
+            record.writeUTF(entry.getKey().getPlayerID());
+            record.writeByte(entry.getValue().ordinal());
+        }
+
+        GameRecordFormat.writeVarInt(record, log.getMoveList().size());
+        for (MoveData moveData : log.getMoveList()) {
+            if (!(moveData.move() instanceof HiveMove hiveMove)) {
+                throw new IllegalArgumentException("Binary game records only support Hive moves");
+            }
+            record.writeLong(HiveMoveCodec.encode(hiveMove));
+            GameRecordFormat.writeVarInt(record, GameRecordFormat.clampMillis(moveData.timeTaken().toMillis()));
+        }
+
+        record.flush();
+        out.writeInt(recordBytes.size());
+        recordBytes.writeTo(out);
+    }
+
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HiveAI;
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Plays an AI vs AI game to the end on the calling thread, without any JavaFX or animation delays.
+ * Used for batch simulations, listeners receive the same GameLog HiveBoardGameController produces.
+ */
+public class HeadlessGameRunner {
+    private HiveGame game;
+    private final List<GameResultListener> gameResultListeners = new ArrayList<>();
+    private final ArrayList<MoveData> moveList = new ArrayList<>();
+
+    public HeadlessGameRunner(HiveGame game) {
+        for (Player player : game.getPlayers()) {
+            if (!player.isAI()) {
+                throw new IllegalArgumentException("Headless games can only be played between AI players");
+            }
+        }
+        this.game = game;
+    }
+
+    public GameLog run() {
+        Instant startTime = Instant.now();
+
+        while (!game.isTerminalState()) {
+            HivePlayer player = game.getCurrentPlayer();
+            List<HiveMove> moves = game.getAvailableMoves(player);
+            if (moves.isEmpty()) {
+                HiveGame nextGame = game.handleNoAvailableMoves();
+                if (nextGame == null) break; // neither player can move
+                game = nextGame;
+                continue;
+            }
+
+            Instant startTurnTime = Instant.now();
+            HiveMove move = (HiveMove) ((HiveAI) player).getNextMove(game, moves);
+            Instant endTurnTime = Instant.now();
+            if (move == null) {
+                throw new IllegalStateException(player.getPlayerID() + " did not return a move");
+            }
+
+            game = game.makeMove(move);
+            moveList.add(new MoveData(Duration.between(startTurnTime, endTurnTime), move));
+        }
+
+        GameLog gameLog = generateGameLog(startTime);
+        gameResultListeners.forEach(gameResultListener -> gameResultListener.onGameResult(gameLog));
+        return gameLog;
+    }
+
+    private GameLog generateGameLog(Instant startTime) {
+        Instant endTime = Instant.now();
+        HashMap<Player, GameResult> gameResultMap = new LinkedHashMap<>();
+
+        for (Player player : game.getPlayers()) {
+            gameResultMap.put(player, game.getGameResult(player));
+        }
+
+        return new GameLog(startTime, endTime, gameResultMap, game.getTurn(), moveList);
+    }
+
+    public HiveGame getGame() {
+        return game;
+    }
+
+    public void addGameResultListener(GameResultListener gameResultListener) {
+        gameResultListeners.add(gameResultListener);
+    }
+}
@@ -14,4 +14,19 @@ public class Heuristic<P, T> {
     public int getEvaluation(Game<P, T> game, Player player) {
         throw new RuntimeException("Not implemented");
     }
+
+    // cheap guess at how good a move is for the player making it, only used to order moves in searches
+    public int getMoveOrderingScore(Game<P, T> game, Move<P, T> move) {
+        return 0;
+    }
+
+    // scores many moves of the same position, override to look up what the scores share once per position
+    public MoveScorer<P, T> getMoveOrderingScorer(Game<P, T> game) {
+        return move -> getMoveOrderingScore(game, move);
+    }
+
+    @FunctionalInterface
+    public interface MoveScorer<P, T> {
+        int score(Move<P, T> move);
+    }
 }
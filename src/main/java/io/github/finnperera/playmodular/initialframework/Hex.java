@@ -8,12 +8,35 @@ import java.util.*;
  * Which outlines the majority of functions a hexagonal engine requires.
  */
 public class Hex implements Position, LoggableComponent {
+    public static final int DIRECTIONS = 6;
     private static final Hex[] hexDirections =
             new Hex[]{new Hex(1, 0, -1), new Hex(1, -1, 0), new Hex(0, -1, 1),
                     new Hex(-1, 0, 1), new Hex(-1, 1, 0), new Hex(0, 1, -1)};
-    private int q, r, s;
 
+    // Interned hexes for every (q, r) within CACHE_RADIUS of the origin, each with a precomputed neighbour table
+    private static final int CACHE_RADIUS = 32;
+    private static final int CACHE_WIDTH = 2 * CACHE_RADIUS;
+    private static final Hex[] cache = new Hex[CACHE_WIDTH * CACHE_WIDTH];
 
+    static {
+        for (int q = -CACHE_RADIUS; q < CACHE_RADIUS; q++) {
+            for (int r = -CACHE_RADIUS; r < CACHE_RADIUS; r++) {
+                cache[cacheIndex(q, r)] = new Hex(q, r, -q - r);
+            }
+        }
+        for (Hex hex : cache) {
+            hex.neighbours = hex.computeNeighbours();
+            hex.neighbourList = List.of(hex.neighbours);
+        }
+    }
+
+    private final int q, r, s;
+    private Hex[] neighbours; // only set for interned hexes
+    private List<Hex> neighbourList;
+
+    /**
+     * Prefer {@link #of(int, int, int)}, which returns a shared instance with precomputed neighbours.
+     */
     public Hex(int q, int r, int s) { // for cube
         assert (q + r + s == 0); // ensures valid coordinates
         this.q = q;
@@ -21,16 +44,29 @@ public class Hex implements Position, LoggableComponent {
         this.s = s;
     }
 
+    private static int cacheIndex(int q, int r) {
+        return (q + CACHE_RADIUS) * CACHE_WIDTH + (r + CACHE_RADIUS);
+    }
+
+    private static boolean isCached(int q, int r) {
+        return q >= -CACHE_RADIUS && q < CACHE_RADIUS && r >= -CACHE_RADIUS && r < CACHE_RADIUS;
+    }
+
+    public static Hex of(int q, int r, int s) {
+        assert (q + r + s == 0);
+        return isCached(q, r) ? cache[cacheIndex(q, r)] : new Hex(q, r, s);
+    }
+
     public static Hex hexAdd(Hex a, Hex b) {
-        return new Hex(a.q + b.q, a.r + b.r, a.s + b.s);
+        return of(a.q + b.q, a.r + b.r, a.s + b.s);
     }
 
     public static Hex hexSubtract(Hex a, Hex b) {
-        return new Hex(a.q - b.q, a.r - b.r, a.s - b.s);
+        return of(a.q - b.q, a.r - b.r, a.s - b.s);
     }
 
     public static Hex hexMultiply(Hex a, int k) {
-        return new Hex(a.q * k, a.r * k, a.s * k);
+        return of(a.q * k, a.r * k, a.s * k);
     }
 
     public static int hexLength(Hex hex) {
@@ -38,7 +74,7 @@ public class Hex implements Position, LoggableComponent {
     }
 
     public static int hexDistance(Hex a, Hex b) {
-        return hexLength(hexSubtract(a, b));
+        return (Math.abs(a.q - b.q) + Math.abs(a.r - b.r) + Math.abs(a.s - b.s)) / 2;
     }
 
     public static int hexDirectionAsIndex(Hex hex) {
@@ -56,7 +92,24 @@ public class Hex implements Position, LoggableComponent {
     }
 
     public static Hex hexNeighbour(Hex hex, int direction) {
-        return hexAdd(hex, hexDirection(direction));
+        return hex.getNeighbour(direction);
+    }
+
+    // must be 0 to 5, does not allocate for interned hexes
+    public Hex getNeighbour(int direction) {
+        if (neighbours != null) return neighbours[direction];
+        Hex offset = hexDirection(direction);
+        return of(q + offset.q, r + offset.r, s + offset.s);
+    }
+
+    // index of the direction from this hex to an adjacent hex, -1 if not adjacent
+    public int directionTo(Hex other) {
+        int dq = other.q - q;
+        int dr = other.r - r;
+        for (int i = 0; i < hexDirections.length; i++) {
+            if (hexDirections[i].q == dq && hexDirections[i].r == dr) return i;
+        }
+        return -1;
     }
 
     @Override
@@ -69,15 +122,22 @@ public class Hex implements Position, LoggableComponent {
 
     @Override
     public int hashCode() {
-        return Objects.hash(q, r);
+        return 31 * q + r;
     }
 
+    // unmodifiable, shared for interned hexes
     public List<Hex> getNeighbours() {
-        List<Hex> neighbours = new ArrayList<>();
+        if (neighbourList != null) return neighbourList;
+        return List.of(computeNeighbours());
+    }
+
+    private Hex[] computeNeighbours() {
+        Hex[] result = new Hex[hexDirections.length];
         for (int i = 0; i < hexDirections.length; i++) {
-            neighbours.add(hexNeighbour(this, i));
+            Hex offset = hexDirections[i];
+            result[i] = of(q + offset.q, r + offset.r, s + offset.s);
         }
-        return neighbours;
+        return result;
     }
 
     @Override
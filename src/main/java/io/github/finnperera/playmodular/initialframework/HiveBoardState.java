@@ -2,26 +2,44 @@ package io.github.finnperera.playmodular.initialframework;
 
 import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-import java.util.Stack;
+import java.util.*;
 
 public class HiveBoardState implements BoardState<Hex, HiveTile> {
-    private MapBasedStorage<Hex, Stack<HiveTile>> board;
+    private final BoardStorage<Hex, Stack<HiveTile>> board;
+    private long zobristHash; // updated on every place and remove, see HiveZobrist
+    // computed on demand, reset whenever a hex is vacated or filled. Search trees read one state from many threads,
+    // so the set is built in full before it is published and is never changed afterwards
+    private volatile Set<Hex> articulationPoints;
 
     public HiveBoardState() {
         this.board = new MapBasedStorage<>();
     }
 
+    // board must be empty, allows choosing the storage backing the state
+    public HiveBoardState(BoardStorage<Hex, Stack<HiveTile>> board) {
+        assert board.isEmpty();
+        this.board = board;
+    }
+
     public HiveBoardState(HiveBoardState boardState) {
-        this.board = new MapBasedStorage<>(boardState.board, stack -> {
-            Stack<HiveTile> newStack = new Stack<>();
-            for (HiveTile tile : stack) {
-                newStack.push(new HiveTile(tile.getTileType(), tile.getHex(), tile.getColour()));
-            }
-            return newStack;
-        });
+        this.board = boardState.board.copy(HiveBoardState::copyStack);
+        this.zobristHash = boardState.zobristHash;
+    }
+
+    // copies the contents of boardState into a different storage
+    public HiveBoardState(HiveBoardState boardState, BoardStorage<Hex, Stack<HiveTile>> board) {
+        this(board);
+        for (Hex position : boardState.getAllPositions()) {
+            board.placePieceAt(position, copyStack(boardState.board.getPieceAt(position)));
+        }
+        this.zobristHash = boardState.zobristHash;
+    }
+
+    // tiles are immutable so only the stack itself needs copying
+    private static Stack<HiveTile> copyStack(Stack<HiveTile> stack) {
+        Stack<HiveTile> newStack = new Stack<>();
+        newStack.addAll(stack);
+        return newStack;
     }
 
     public boolean hasTileAtHex(Hex hex) {
@@ -30,21 +48,25 @@ public class HiveBoardState implements BoardState<Hex, HiveTile> {
 
     @Override
     public HiveTile getPieceAt(Hex position) {
-        if (!board.hasPieceAt(position)) return null;
         Stack<HiveTile> stack = board.getPieceAt(position);
-        return stack.isEmpty() ? null : stack.peek();
+        return stack == null || stack.isEmpty() ? null : stack.peek();
     }
 
     // Should be immutable
     @Override
     public void placePiece(Hex position, HiveTile piece) {
-        if (board.hasPieceAt(position)) {
-            board.getPieceAt(position).push(piece);
+        Stack<HiveTile> existing = board.getPieceAt(position);
+        int height = 0;
+        if (existing != null) {
+            height = existing.size();
+            existing.push(piece);
         } else {
             Stack<HiveTile> stack = new Stack<>();
             stack.push(piece);
             board.placePieceAt(position, stack);
+            articulationPoints = null;
         }
+        zobristHash ^= HiveZobrist.pieceKey(position, height, piece.getTileType(), piece.getColour());
     }
 
     // Should be immutable
@@ -55,9 +77,11 @@ public class HiveBoardState implements BoardState<Hex, HiveTile> {
             throw new IllegalArgumentException("Trying to remove from an empty position" + position);
         }
 
-        stack.pop();
+        HiveTile removed = stack.pop();
+        zobristHash ^= HiveZobrist.pieceKey(position, stack.size(), removed.getTileType(), removed.getColour());
         if (stack.isEmpty()) {
             board.removePieceAt(position);
+            articulationPoints = null;
         }
     }
 
@@ -119,6 +143,18 @@ public class HiveBoardState implements BoardState<Hex, HiveTile> {
         return pieces;
     }
 
+    // only pieces on top of their stack can move
+    public List<HiveTile> getTopPiecesOfPlayer(HivePlayer player) {
+        List<HiveTile> pieces = new ArrayList<>();
+        for (Stack<HiveTile> stack : board.getAllPieces()) {
+            HiveTile top = stack.peek();
+            if (player.getColour() == top.getColour()) {
+                pieces.add(top);
+            }
+        }
+        return pieces;
+    }
+
     public List<HiveTile> getQueens() {
         List<HiveTile> queens = new ArrayList<>();
         for (Stack<HiveTile> stack : board.getAllPieces()) {
@@ -140,8 +176,94 @@ public class HiveBoardState implements BoardState<Hex, HiveTile> {
         return null;
     }
 
+    // true if emptying this hex would split the hive in two
+    public boolean isArticulationPoint(Hex position) {
+        Set<Hex> points = articulationPoints;
+        if (points == null) {
+            points = findArticulationPoints(); // threads racing here compute the same set
+            articulationPoints = points;
+        }
+        return points.contains(position);
+    }
+
+    // iterative Tarjan over the occupied hexes, linear in the number of positions
+    private Set<Hex> findArticulationPoints() {
+        List<Hex> positions = getAllPositions();
+        int n = positions.size();
+        Set<Hex> points = new HashSet<>();
+        if (n < 3) return points;
+
+        Map<Hex, Integer> indices = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indices.put(positions.get(i), i);
+        }
+
+        int[] discovered = new int[n]; // 0 while unvisited
+        int[] low = new int[n];
+        int[] parent = new int[n];
+        int[] nextDirection = new int[n];
+        int[] stack = new int[n];
+        int top = 0;
+        int time = 0;
+        int rootChildren = 0;
+
+        parent[0] = -1;
+        discovered[0] = low[0] = ++time;
+        stack[top++] = 0;
+        while (top > 0) {
+            int current = stack[top - 1];
+            if (nextDirection[current] < Hex.DIRECTIONS) {
+                Integer neighbour = indices.get(positions.get(current).getNeighbour(nextDirection[current]++));
+                if (neighbour == null) continue;
+
+                if (discovered[neighbour] == 0) {
+                    parent[neighbour] = current;
+                    discovered[neighbour] = low[neighbour] = ++time;
+                    if (current == 0) rootChildren++;
+                    stack[top++] = neighbour;
+                } else if (neighbour != parent[current]) {
+                    low[current] = Math.min(low[current], discovered[neighbour]);
+                }
+            } else {
+                top--;
+                int previous = parent[current];
+                if (previous < 0) continue;
+
+                low[previous] = Math.min(low[previous], low[current]);
+                if (parent[previous] >= 0 && low[current] >= discovered[previous]) {
+                    points.add(positions.get(previous));
+                }
+            }
+        }
+        if (rootChildren > 1) points.add(positions.get(0));
+        return points;
+    }
+
+    // same tile types and colours stacked on the same hexes
+    public boolean hasSameTiles(HiveBoardState other) {
+        List<Hex> positions = getAllPositions();
+        if (positions.size() != other.getAllPositions().size()) return false;
+
+        for (Hex position : positions) {
+            Stack<HiveTile> stack = board.getPieceAt(position);
+            Stack<HiveTile> otherStack = other.board.getPieceAt(position);
+            if (otherStack == null || stack.size() != otherStack.size()) return false;
+            for (int height = 0; height < stack.size(); height++) {
+                HiveTile tile = stack.get(height);
+                HiveTile otherTile = otherStack.get(height);
+                if (tile.getTileType() != otherTile.getTileType() || tile.getColour() != otherTile.getColour()) return false;
+            }
+        }
+        return true;
+    }
+
+    // Zobrist hash of the tiles on the board, hands and side to move are added by HiveGame
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
     // REMOVE AFTER TESTING
-    public MapBasedStorage<Hex, Stack<HiveTile>> getBoard() {
+    public BoardStorage<Hex, Stack<HiveTile>> getBoard() {
         return board;
     }
 }
@@ -0,0 +1,15 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import java.util.Stack;
+
+public enum HiveBoardStorageType {
+    MAP,
+    ARRAY;
+
+    public BoardStorage<Hex, Stack<HiveTile>> createStorage() {
+        return switch (this) {
+            case MAP -> new MapBasedStorage<>();
+            case ARRAY -> new ArrayBoardStorage<>();
+        };
+    }
+}
@@ -8,7 +8,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-public class HiveGame implements Game<Hex, HiveTile>, ConfigurableOptions {
+public class HiveGame implements SearchableGame<Hex, HiveTile>, ConfigurableOptions {
 
     //private final ArrayList<HiveMove> moveList;
     private final HiveRuleEngine ruleEngine;
@@ -17,6 +17,7 @@ public class HiveGame implements Game<Hex, HiveTile>, ConfigurableOptions {
     private final HivePlayer player2;
     private final BasicHeuristic heuristic = new BasicHeuristic(); // change when generalising
     private int turn;
+    private final ArrayList<HiveMove> appliedMoves = new ArrayList<>(); // for undoMove, null marks a pass
 
     public HiveGame(HiveRuleEngine ruleEngine, HivePlayer player1, HivePlayer player2, HiveBoardState boardState) {
         //moveList = new ArrayList<>();
@@ -47,7 +48,7 @@ public class HiveGame implements Game<Hex, HiveTile>, ConfigurableOptions {
         moves.addAll(getPlacementMoves(hivePlayer));
 
         // add all current piece moves
-        boardState.getAllPiecesOfPlayer(hivePlayer).forEach(piece -> {
+        boardState.getTopPiecesOfPlayer(hivePlayer).forEach(piece -> {
             List<HiveMove> pieceMoves = ruleEngine.generatePieceMoves(boardState, piece);
             moves.addAll(pieceMoves.stream().filter(this::isValidMove).toList());
         });
@@ -126,6 +127,95 @@ public class HiveGame implements Game<Hex, HiveTile>, ConfigurableOptions {
         return newGame;
     }
 
+    @Override
+    public HiveGame copyForSearch() {
+        return new HiveGame(ruleEngine, copyPlayerForSearch(player1), copyPlayerForSearch(player2),
+                new HiveBoardState(boardState), turn);
+    }
+
+    // Plain players are enough for searching, avoids copying the AI model
+    private static HivePlayer copyPlayerForSearch(HivePlayer player) {
+        return new HivePlayer(player.getTiles(), player.getColour(), player.getPlayerID());
+    }
+
+    @Override
+    public void applyMove(Move<Hex, HiveTile> move) {
+        if (!(move instanceof HiveMove hiveMove)) {
+            throw new IllegalArgumentException("Invalid move type: " + move.getClass().getName());
+        }
+
+        HiveTile tile = hiveMove.getPieceToMove();
+        if (hiveMove.isPlacementMove()) {
+            getCurrentPlayer().takeTile(tile.getTileType());
+            boardState.placePiece(hiveMove.getNextPosition(), tile);
+        } else {
+            boardState.removePieceAt(tile.getHex());
+            boardState.placePiece(hiveMove.getNextPosition(),
+                    new HiveTile(tile.getTileType(), hiveMove.getNextPosition(), tile.getColour()));
+        }
+        appliedMoves.add(hiveMove);
+        turn++;
+    }
+
+    @Override
+    public void applyPass() {
+        appliedMoves.add(null);
+        turn++;
+    }
+
+    @Override
+    public void undoMove() {
+        if (appliedMoves.isEmpty()) {
+            throw new IllegalStateException("No move to undo");
+        }
+
+        HiveMove move = appliedMoves.remove(appliedMoves.size() - 1);
+        turn--;
+        if (move == null) return; // pass
+
+        HiveTile tile = move.getPieceToMove();
+        boardState.removePieceAt(move.getNextPosition());
+        if (move.isPlacementMove()) {
+            getCurrentPlayer().returnTile(tile.getTileType());
+        } else {
+            boardState.placePiece(tile.getHex(), tile);
+        }
+    }
+
+    @Override
+    public long getPositionHash() {
+        long hash = boardState.getZobristHash() ^ HiveZobrist.handHash(player1) ^ HiveZobrist.handHash(player2);
+        if (getCurrentPlayer() == player2) hash ^= HiveZobrist.sideToMoveKey();
+        return hash;
+    }
+
+    @Override
+    public boolean isSamePosition(SearchableGame<Hex, HiveTile> other) {
+        return other instanceof HiveGame game
+                && turn == game.turn
+                && player1.getTiles().equals(game.player1.getTiles())
+                && player2.getTiles().equals(game.player2.getTiles())
+                && boardState.hasSameTiles(game.boardState);
+    }
+
+    @Override
+    public long encodeMove(Move<Hex, HiveTile> move) {
+        if (!(move instanceof HiveMove hiveMove)) {
+            throw new IllegalArgumentException("Invalid move type: " + move.getClass().getName());
+        }
+        return HiveMoveCodec.encode(hiveMove);
+    }
+
+    @Override
+    public HiveMove decodeMove(long packedMove) {
+        return HiveMoveCodec.decode(packedMove);
+    }
+
+    @Override
+    public HivePlayoutEngine createPlayoutEngine() {
+        return new HivePlayoutEngine();
+    }
+
     @Override
     public int evaluateBoardState(BoardState<Hex, HiveTile> boardState) {
         return heuristic.getEvaluation(this);
@@ -169,7 +259,8 @@ public class HiveGame implements Game<Hex, HiveTile>, ConfigurableOptions {
         for (HiveTile queen : boardState.getQueens()) {
             // if every hex surrounding queen has a tile
             int hasTile = 0;
-            for (Hex hex : queen.getHex().getNeighbours()) {
+            for (int i = 0; i < Hex.DIRECTIONS; i++) {
+                Hex hex = queen.getHex().getNeighbour(i);
                 if (boardState.hasPieceAt(hex)) {
                     hasTile++;
                 }
@@ -188,7 +279,8 @@ public class HiveGame implements Game<Hex, HiveTile>, ConfigurableOptions {
 
         for (HiveTile queen : boardState.getQueens()) {
             int hasTile = 0;
-            for (Hex hex : queen.getHex().getNeighbours()) {
+            for (int i = 0; i < Hex.DIRECTIONS; i++) {
+                Hex hex = queen.getHex().getNeighbour(i);
                 if (boardState.hasPieceAt(hex)) {
                     hasTile++;
                 }
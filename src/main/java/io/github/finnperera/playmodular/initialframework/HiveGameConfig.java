@@ -3,6 +3,7 @@ package io.github.finnperera.playmodular.initialframework;
 
 import io.github.finnperera.playmodular.initialframework.AIModels.Minimax.AlphaBetaMinimaxModel;
 import io.github.finnperera.playmodular.initialframework.AIModels.Minimax.MinimaxModel;
+import io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTreeSearch.CompactMonteCarloModel;
 import io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTreeSearch.MonteCarloModel;
 import io.github.finnperera.playmodular.initialframework.AIModels.RandomModel;
 import io.github.finnperera.playmodular.initialframework.HiveHeuristics.BasicHeuristic;
@@ -22,6 +23,7 @@ public class HiveGameConfig implements LoggableGameConfig {
     private List<Option<?>> player2Options;
     private final ArrayList<Heuristic<?, ?>> heuristics;
     private Runnable updateHeuristicUI;
+    private HiveBoardStorageType boardStorageType = HiveBoardStorageType.MAP;
 
     public HiveGameConfig() {
         player1 = new HivePlayer(HiveColour.WHITE);
@@ -75,7 +77,7 @@ public class HiveGameConfig implements LoggableGameConfig {
 
         configurePlayerOptions(gamePlayer1, player1Options);
         configurePlayerOptions(gamePlayer2, player2Options);
-        return new HiveGame(new HiveRuleEngine(), gamePlayer1, gamePlayer2, new HiveBoardState());
+        return new HiveGame(new HiveRuleEngine(), gamePlayer1, gamePlayer2, new HiveBoardState(createBoardStorage()));
     }
 
     public HiveGame createGameFromGameState(HiveGame game) {
@@ -91,14 +93,19 @@ public class HiveGameConfig implements LoggableGameConfig {
         configurePlayerOptions(gamePlayer1, player1Options);
         configurePlayerOptions(gamePlayer2, player2Options);
         return new HiveGame(new HiveRuleEngine(), gamePlayer1, gamePlayer2,
-                new HiveBoardState(game.getBoardState()), game.getTurn());
+                new HiveBoardState(game.getBoardState(), createBoardStorage()), game.getTurn());
+    }
+
+    private BoardStorage<Hex, Stack<HiveTile>> createBoardStorage() {
+        return boardStorageType.createStorage();
     }
 
     public HivePlayer configureHivePlayer(HiveColour colour, String playerType) {
         HivePlayer updatedPlayer = null;
 
         switch (playerType) {
-            case "Monte Carlo" -> updatedPlayer = new HiveAI(colour, new MonteCarloModel<>());
+            case "Monte Carlo" -> updatedPlayer = new HiveAI(colour, new MonteCarloModel<>(new BasicHeuristic()));
+            case "Compact Monte Carlo" -> updatedPlayer = new HiveAI(colour, new CompactMonteCarloModel<>(new BasicHeuristic()));
             case "Minimax" -> {
                 updatedPlayer = new HiveAI(colour, null);
                 configureAIModel((HiveAI) updatedPlayer, new MinimaxModel<>(updatedPlayer, new BasicHeuristic()));
@@ -215,6 +222,14 @@ public class HiveGameConfig implements LoggableGameConfig {
         this.updateHeuristicUI = updateHeuristicUI;
     }
 
+    public HiveBoardStorageType getBoardStorageType() {
+        return boardStorageType;
+    }
+
+    public void setBoardStorageType(HiveBoardStorageType boardStorageType) {
+        this.boardStorageType = boardStorageType;
+    }
+
     public HivePlayer getPlayer1() {
         return player1;
     }
@@ -243,6 +258,7 @@ public class HiveGameConfig implements LoggableGameConfig {
         logMap.put("player1", playerToMap(player1, player1Options));
         logMap.put("player2", playerToMap(player2, player2Options));
         logMap.put("ruleEngine", "standard");
+        logMap.put("boardStorage", boardStorageType.toString());
 
         return logMap;
     }
@@ -167,7 +167,7 @@ public class HiveGameDesigner extends Pane {
             double mouseY = event.getY();
 
             int[] hexCoordinates = calculateHexCoordinates(mouseX, mouseY, hexSize, offsetX, offsetY);
-            Hex hex = new Hex(hexCoordinates[0], hexCoordinates[1], -hexCoordinates[0] - hexCoordinates[1]);
+            Hex hex = Hex.of(hexCoordinates[0], hexCoordinates[1], -hexCoordinates[0] - hexCoordinates[1]);
             if (selectTileMode) {
                 if (selectedHex != null) {
                     toggleOutlineOnTile(selectedHex, container);
@@ -339,7 +339,7 @@ public class HiveGameDesigner extends Pane {
         double centerX = pixelCoords[0];
         double centerY = pixelCoords[1];
 
-        Hex position = new Hex(q, r, -q - r);
+        Hex position = Hex.of(q, r, -q - r);
 
         renderTile(q, r, hexSize, container, centerX, centerY);
 
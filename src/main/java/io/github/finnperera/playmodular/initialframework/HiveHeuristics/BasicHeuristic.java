@@ -61,8 +61,9 @@ public class BasicHeuristic extends Heuristic<Hex, HiveTile> implements Configur
         HiveGame hiveGame = (HiveGame) game;
         HivePlayer hiveMaxPlayer = (HivePlayer) maxPlayer;
 
-        assert hiveGame.getPlayers().contains(hiveMaxPlayer);
-        HivePlayer minPlayer = hiveGame.getCurrentPlayer() == hiveMaxPlayer ? hiveGame.getCurrentOpponent() : hiveGame.getCurrentPlayer();
+        // compared by colour, searches evaluate copies of the game holding their own player objects
+        HivePlayer minPlayer = hiveGame.getCurrentPlayer().getColour() == hiveMaxPlayer.getColour() ?
+                hiveGame.getCurrentOpponent() : hiveGame.getCurrentPlayer();
         int evaluationScore = 0;
         evaluationScore += winOrLose(hiveGame, hiveMaxPlayer);
         evaluationScore += ownQueenSurrounded(hiveGame, hiveMaxPlayer);
@@ -72,6 +73,42 @@ public class BasicHeuristic extends Heuristic<Hex, HiveTile> implements Configur
         return evaluationScore;
     }
 
+    @Override
+    public int getMoveOrderingScore(Game<Hex, HiveTile> game, Move<Hex, HiveTile> move) {
+        return getMoveOrderingScorer(game).score(move);
+    }
+
+    // finding the queens scans the board, so it is done once for all the moves of a position
+    @Override
+    public MoveScorer<Hex, HiveTile> getMoveOrderingScorer(Game<Hex, HiveTile> game) {
+        HiveGame hiveGame = (HiveGame) game;
+        HiveBoardState boardState = hiveGame.getBoardState();
+        HiveTile opponentQueen = boardState.getQueenOfPlayer(hiveGame.getCurrentOpponent());
+        HiveTile ownQueen = boardState.getQueenOfPlayer(hiveGame.getCurrentPlayer());
+        return move -> getMoveOrderingScore(move, opponentQueen, ownQueen);
+    }
+
+    // moves that close in on the opponent queen are tried first, crowding our own queen is tried last
+    private static int getMoveOrderingScore(Move<Hex, HiveTile> move, HiveTile opponentQueen, HiveTile ownQueen) {
+        Hex destination = move.getNextPosition();
+        HiveTile piece = move.getPieceToMove();
+        int score = 0;
+
+        boolean placement = move instanceof HiveMove hiveMove && hiveMove.isPlacementMove();
+
+        if (opponentQueen != null && destination.directionTo(opponentQueen.getHex()) >= 0
+                && (placement || piece.getHex().directionTo(opponentQueen.getHex()) < 0)) {
+            score += 2;
+        }
+
+        if (ownQueen == null) {
+            if (piece.getTileType() == HiveTileType.QUEEN_BEE) score += 1;
+        } else if (piece.getTileType() != HiveTileType.QUEEN_BEE && destination.directionTo(ownQueen.getHex()) >= 0) {
+            score -= 1;
+        }
+        return score;
+    }
+
     private int winOrLose(HiveGame game, HivePlayer player) {
         if (!game.isTerminalState()) return 0;
 
@@ -103,7 +140,8 @@ public class BasicHeuristic extends Heuristic<Hex, HiveTile> implements Configur
         HiveTile queen = game.getBoardState().getQueenOfPlayer(playerWithQueen);
         if (queen == null) return 0;
         int scoreTotal = -surroundScore; // one piece touching queen doesn't affect score? (always will have one)
-        for (Hex neighbour : queen.getHex().getNeighbours()) {
+        for (int i = 0; i < Hex.DIRECTIONS; i++) {
+            Hex neighbour = queen.getHex().getNeighbour(i);
             if (game.getBoardState().hasPieceAt(neighbour)) {
                 scoreTotal += surroundScore;
             }
@@ -122,8 +160,7 @@ public class BasicHeuristic extends Heuristic<Hex, HiveTile> implements Configur
         HiveColour playerColour = maxPlayer.getColour();
         AtomicInteger totalScore = new AtomicInteger();
 
-        // This could probably all be refactored to one loop or put moveable pieces into hashmap?
-        // maybe I hash move or the tile that is moving with the board state
+        // pinned pieces come from the board state's articulation points, computed once per position
         for (Stack<HiveTile> stack : game.getBoardState().getBoard().getAllPieces()) {
             // Pieces stuck under other pieces
             if (stack.size() > 1) {
@@ -136,9 +173,6 @@ public class BasicHeuristic extends Heuristic<Hex, HiveTile> implements Configur
                 });
             }
 
-            // Neighbouring pieces >= 2
-            if (!canBeStuck(stack, game)) continue;
-
             // If one Hive Rule fails -> piece is stuck
             if (!game.getRuleEngine().isOneHiveWhileMoving(game.getBoardState(), stack.peek())) {
                 HiveTile topTile = stack.peek();
@@ -152,19 +186,6 @@ public class BasicHeuristic extends Heuristic<Hex, HiveTile> implements Configur
         return totalScore.get();
     }
 
-    private boolean canBeStuck(Stack<HiveTile> stack, HiveGame game) {
-        int neighbourCount = 0;
-        for (Hex neighbour: stack.peek().getHex().getNeighbours()) {
-            if (game.getBoardState().hasPieceAt(neighbour)) {
-                neighbourCount++;
-            }
-            if (neighbourCount > 1) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private int pieceValues(HiveTileType tileType) {
         switch (tileType) {
             case QUEEN_BEE -> {
@@ -0,0 +1,72 @@
+package io.github.finnperera.playmodular.initialframework;
+
+/**
+ * Packs a HiveMove into a single long for compact storage.
+ * Layout from the lowest bit: tile type (3), colour (1), placement flag (1), source q and r relative to the
+ * destination (7 each), destination q and r (22 each).
+ * The destination covers [-2^21, 2^21) on each axis, far more than a hive can drift within a game's turn limit.
+ * A moving piece and its destination both touch a hive of at most 22 tiles, so the source is never more than
+ * a couple of dozen hexes from the destination and fits the 7 bit offsets.
+ * Placement moves store their destination as the source, the tile is created on that hex.
+ */
+public final class HiveMoveCodec {
+    private static final int DELTA_BITS = 7;
+    private static final int COORD_BITS = 22;
+    private static final int COORD_OFFSET = 1 << (COORD_BITS - 1);
+
+    private static final int COLOUR_SHIFT = 3;
+    private static final int PLACEMENT_SHIFT = 4;
+    private static final int SOURCE_Q_SHIFT = 5;
+    private static final int SOURCE_R_SHIFT = SOURCE_Q_SHIFT + DELTA_BITS;
+    private static final int DEST_Q_SHIFT = SOURCE_R_SHIFT + DELTA_BITS;
+    private static final int DEST_R_SHIFT = DEST_Q_SHIFT + COORD_BITS;
+
+    // inclusive bounds of the destination coordinates that can be encoded
+    public static final int MIN_COORDINATE = -COORD_OFFSET;
+    public static final int MAX_COORDINATE = COORD_OFFSET - 1;
+
+    private static final HiveTileType[] TILE_TYPES = HiveTileType.values();
+    private static final HiveColour[] COLOURS = HiveColour.values();
+
+    private HiveMoveCodec() {}
+
+    public static long encode(HiveMove move) {
+        HiveTile tile = move.getPieceToMove();
+        Hex destination = move.getNextPosition();
+        Hex source = move.isPlacementMove() || tile.getHex() == null ? destination : tile.getHex();
+
+        return tile.getTileType().ordinal()
+                | (long) tile.getColour().ordinal() << COLOUR_SHIFT
+                | (long) (move.isPlacementMove() ? 1 : 0) << PLACEMENT_SHIFT
+                | pack(source.getQ() - destination.getQ(), DELTA_BITS) << SOURCE_Q_SHIFT
+                | pack(source.getR() - destination.getR(), DELTA_BITS) << SOURCE_R_SHIFT
+                | pack(destination.getQ(), COORD_BITS) << DEST_Q_SHIFT
+                | pack(destination.getR(), COORD_BITS) << DEST_R_SHIFT;
+    }
+
+    public static HiveMove decode(long packed) {
+        HiveTileType tileType = TILE_TYPES[(int) (packed & 0x7)];
+        HiveColour colour = COLOURS[(int) ((packed >>> COLOUR_SHIFT) & 0x1)];
+        boolean placement = ((packed >>> PLACEMENT_SHIFT) & 0x1) != 0;
+
+        int destQ = unpack(packed >>> DEST_Q_SHIFT, COORD_BITS);
+        int destR = unpack(packed >>> DEST_R_SHIFT, COORD_BITS);
+        int sourceQ = destQ + unpack(packed >>> SOURCE_Q_SHIFT, DELTA_BITS);
+        int sourceR = destR + unpack(packed >>> SOURCE_R_SHIFT, DELTA_BITS);
+
+        return new HiveMove(new HiveTile(tileType, Hex.of(sourceQ, sourceR, -sourceQ - sourceR), colour),
+                Hex.of(destQ, destR, -destQ - destR), placement);
+    }
+
+    private static long pack(int value, int bits) {
+        int offset = 1 << (bits - 1);
+        if (value < -offset || value >= offset) {
+            throw new IllegalArgumentException("Value out of encodable range for " + bits + " bits: " + value);
+        }
+        return value + offset;
+    }
+
+    private static int unpack(long packed, int bits) {
+        return (int) (packed & ((1L << bits) - 1)) - (1 << (bits - 1));
+    }
+}
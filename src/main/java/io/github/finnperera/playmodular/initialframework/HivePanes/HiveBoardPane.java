@@ -154,7 +154,7 @@ public class HiveBoardPane extends Pane {
         double mouseY = mouseEvent.getY();
 
         int[] hexCoordinates= calculateHexCoordinates(mouseX,mouseY,HEX_SIZE, offsetX, offsetY);
-        Hex hex = new Hex(hexCoordinates[0], hexCoordinates[1], -hexCoordinates[0] -hexCoordinates[1]);
+        Hex hex = Hex.of(hexCoordinates[0], hexCoordinates[1], -hexCoordinates[0] - hexCoordinates[1]);
         clickListener.onTileClicked(hex);
     }
 
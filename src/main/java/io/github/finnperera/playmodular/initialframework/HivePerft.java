@@ -0,0 +1,118 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Perft for Hive: counts every legal move sequence of a given length from a position, using in place apply/undo.
+ * Leaves are broken down by the kind of the last move (placement, movement per tile type or pass) and the
+ * node rate is reported, so an engine change can be checked for speed here and for exactness by HivePerftTest.
+ * Sequences that reach a finished game early are not counted, a player with no moves passes.
+ *
+ * Usage: HivePerft [position|all] [max depth]
+ */
+public final class HivePerft {
+    private static final int PLACEMENT = 0;
+    private static final int PASS = HiveTileType.values().length + 1;
+    private static final int KINDS = PASS + 1;
+
+    private HivePerft() {}
+
+    public record Result(int depth, long leaves, long nodes, long nanos, long[] leavesByKind) {
+        public double nodesPerSecond() {
+            return nanos == 0 ? 0 : nodes * 1e9 / nanos;
+        }
+
+        public long placements() {
+            return leavesByKind[PLACEMENT];
+        }
+
+        public long movements(HiveTileType tileType) {
+            return leavesByKind[tileType.ordinal() + 1];
+        }
+
+        public long passes() {
+            return leavesByKind[PASS];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("depth ").append(depth).append(": ").append(leaves).append(" leaves (placement ")
+                    .append(placements());
+            for (HiveTileType tileType : HiveTileType.values()) {
+                builder.append(", ").append(tileType).append(' ').append(movements(tileType));
+            }
+            builder.append(", pass ").append(passes()).append(") ")
+                    .append(String.format("%,.0f nodes/s", nodesPerSecond()));
+            return builder.toString();
+        }
+    }
+
+    public static Result perft(HiveGame game, int depth) {
+        if (depth < 1) throw new IllegalArgumentException("Depth must be at least 1: " + depth);
+
+        long[] leavesByKind = new long[KINDS];
+        long[] nodes = new long[1];
+        long start = System.nanoTime();
+        long leaves = count(game.copyForSearch(), depth, leavesByKind, nodes);
+        return new Result(depth, leaves, nodes[0], System.nanoTime() - start, leavesByKind);
+    }
+
+    private static long count(HiveGame game, int depth, long[] leavesByKind, long[] nodes) {
+        nodes[0]++;
+        if (game.isTerminalState()) return 0;
+
+        List<HiveMove> moves = game.getAvailableMoves(game.getCurrentPlayer());
+        if (moves.isEmpty()) {
+            if (depth == 1) {
+                leavesByKind[PASS]++;
+                return 1;
+            }
+            game.applyPass();
+            long leaves = count(game, depth - 1, leavesByKind, nodes);
+            game.undoMove();
+            return leaves;
+        }
+
+        if (depth == 1) {
+            // bulk count, the leaves themselves never need to be played
+            for (HiveMove move : moves) {
+                leavesByKind[kindOf(move)]++;
+            }
+            nodes[0] += moves.size();
+            return moves.size();
+        }
+
+        long leaves = 0;
+        for (HiveMove move : moves) {
+            game.applyMove(move);
+            leaves += count(game, depth - 1, leavesByKind, nodes);
+            game.undoMove();
+        }
+        return leaves;
+    }
+
+    private static int kindOf(HiveMove move) {
+        return move.isPlacementMove() ? PLACEMENT : move.getPieceToMove().getTileType().ordinal() + 1;
+    }
+
+    public static void main(String[] args) {
+        String positionArg = args.length > 0 ? args[0] : "all";
+        int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        List<HiveStandardPosition> positions = new ArrayList<>();
+        if (positionArg.equalsIgnoreCase("all")) {
+            positions.addAll(List.of(HiveStandardPosition.values()));
+        } else {
+            positions.add(HiveStandardPosition.valueOf(positionArg.toUpperCase()));
+        }
+
+        for (HiveStandardPosition position : positions) {
+            HiveGame game = position.create();
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                System.out.println(position + " " + perft(game, depth));
+            }
+        }
+    }
+}
@@ -39,6 +39,16 @@ public class HivePlayer implements Player, ConfigurableOptions {
         return result;
     }
 
+    // in place version of removeTile, used when searching
+    public void takeTile(HiveTileType type) {
+        assert tiles.get(type) != null && tiles.get(type) > 0;
+        tiles.merge(type, -1, Integer::sum);
+    }
+
+    public void returnTile(HiveTileType type) {
+        tiles.merge(type, 1, Integer::sum);
+    }
+
     public int getTypeRemainingTiles(HiveTileType type) {
         return tiles.getOrDefault(type, 0);
     }
@@ -0,0 +1,160 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Playout engine for Hive that picks a random legal move without building the full move list.
+ * It first picks a random move source: one of the player's movable pieces, or placing a tile. Then it generates
+ * moves for that source only. Sources with no moves are dropped and another is tried, so the player passes
+ * exactly when getAvailableMoves would be empty. Moves are played in place and undone at the end, and the
+ * source buffer is reused between moves.
+ * Moves are uniform per source rather than over all moves, like most Hive playout policies. A greedy move is the
+ * best scoring of a few such samples, so greedy playouts never build the full move list either.
+ */
+public class HivePlayoutEngine implements PlayoutEngine<Hex, HiveTile> {
+    private static final HiveTileType[] TILE_TYPES = HiveTileType.values();
+    private static final int GREEDY_SAMPLES = 4;
+
+    private HiveTile[] sources = new HiveTile[16]; // the player's movable top pieces for the current move
+
+    @Override
+    public double playout(SearchableGame<Hex, HiveTile> game, Player player, int maxMoves,
+                          RolloutPolicy<Hex, HiveTile> policy, BooleanSupplier stop, MoveListener listener) {
+        if (!(game instanceof HiveGame hiveGame)) {
+            throw new IllegalArgumentException("Invalid game type: " + game.getClass().getName());
+        }
+
+        Random random = ThreadLocalRandom.current();
+        int plies = policy.hasCutoff() ? Math.min(maxMoves, policy.cutoffPlies()) : maxMoves;
+        int applied = 0;
+        boolean previousPassed = false;
+        boolean stopped = false;
+        while (!hiveGame.isTerminalState() && applied < plies) {
+            if (stop.getAsBoolean()) {
+                stopped = true;
+                break;
+            }
+
+            HiveMove move = policy.isGreedy() && random.nextDouble() >= policy.epsilon() ?
+                    greedyMove(hiveGame, policy.heuristic(), random) : randomMove(hiveGame, random);
+            if (move == null) {
+                if (previousPassed) break; // neither player can move
+                hiveGame.applyPass();
+                previousPassed = true;
+            } else {
+                if (listener != null) {
+                    listener.played(hiveGame.getCurrentPlayer().getPlayerID().equals(player.getPlayerID()),
+                            HiveMoveCodec.encode(move));
+                }
+                hiveGame.applyMove(move);
+                previousPassed = false;
+            }
+            applied++;
+        }
+
+        double result;
+        if (stopped) {
+            result = Double.NaN;
+        } else if (policy.hasCutoff() && applied == plies) {
+            result = policy.evaluate(hiveGame, player);
+        } else {
+            result = PlayoutEngine.score(hiveGame, player);
+        }
+        for (int i = 0; i < applied; i++) {
+            hiveGame.undoMove();
+        }
+        return result;
+    }
+
+    // best by move ordering score out of a few random samples, null when the current player has to pass
+    public HiveMove greedyMove(HiveGame game, Heuristic<Hex, HiveTile> heuristic, Random random) {
+        HiveMove best = randomMove(game, random);
+        if (best == null) return null;
+
+        Heuristic.MoveScorer<Hex, HiveTile> scorer = heuristic.getMoveOrderingScorer(game);
+        int bestScore = scorer.score(best);
+        for (int i = 1; i < GREEDY_SAMPLES; i++) {
+            HiveMove candidate = randomMove(game, random);
+            int score = scorer.score(candidate);
+            if (score > bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    // null when the current player has to pass
+    public HiveMove randomMove(HiveGame game, Random random) {
+        HivePlayer player = game.getCurrentPlayer();
+        HiveBoardState boardState = game.getBoardState();
+        boolean queenPlaced = boardState.getQueenOfPlayer(player) != null;
+
+        // pieces can only move once the queen is placed
+        int sourceCount = 0;
+        if (queenPlaced) {
+            for (Stack<HiveTile> stack : boardState.getBoard().getAllPieces()) {
+                HiveTile top = stack.peek();
+                if (top.getColour() != player.getColour()) continue;
+                if (sourceCount == sources.length) sources = Arrays.copyOf(sources, sourceCount * 2);
+                sources[sourceCount++] = top;
+            }
+        }
+        boolean canPlace = hasTilesInHand(player);
+
+        // the placement source, when there is one, is index sourceCount
+        while (sourceCount > 0 || canPlace) {
+            int pick = random.nextInt(sourceCount + (canPlace ? 1 : 0));
+            if (pick == sourceCount) {
+                HiveMove placement = randomPlacement(game, player, queenPlaced, random);
+                if (placement != null) return placement;
+                canPlace = false;
+                continue;
+            }
+
+            List<HiveMove> pieceMoves = game.getRuleEngine().generatePieceMoves(boardState, sources[pick]);
+            if (!pieceMoves.isEmpty()) return pieceMoves.get(random.nextInt(pieceMoves.size()));
+            sources[pick] = sources[--sourceCount];
+        }
+        return null;
+    }
+
+    private HiveMove randomPlacement(HiveGame game, HivePlayer player, boolean queenPlaced, Random random) {
+        List<Hex> positions = game.getRuleEngine().generatePlacementPositions(game.getBoardState(), player);
+        if (positions.isEmpty()) return null;
+        Hex position = positions.get(random.nextInt(positions.size()));
+
+        HiveTileType type;
+        if (!queenPlaced && game.getBoardState().getAllPiecesOfPlayer(player).size() >= 3) {
+            type = HiveTileType.QUEEN_BEE; // queen must be placed by the fourth tile
+        } else {
+            int available = 0;
+            for (HiveTileType tileType : TILE_TYPES) {
+                if (player.getTypeRemainingTiles(tileType) > 0) available++;
+            }
+            int chosen = random.nextInt(available);
+            type = null;
+            for (HiveTileType tileType : TILE_TYPES) {
+                if (player.getTypeRemainingTiles(tileType) > 0 && chosen-- == 0) {
+                    type = tileType;
+                    break;
+                }
+            }
+        }
+        return new HiveMove(new HiveTile(type, position, player.getColour()), position, true);
+    }
+
+    private static boolean hasTilesInHand(HivePlayer player) {
+        for (HiveTileType tileType : TILE_TYPES) {
+            if (player.getTypeRemainingTiles(tileType) > 0) return true;
+        }
+        return false;
+    }
+}
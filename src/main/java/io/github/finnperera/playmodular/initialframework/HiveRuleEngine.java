@@ -12,7 +12,7 @@ public class HiveRuleEngine {
 
         // check if beginning board
         if (boardState.isBoardEmpty()) {
-            return List.of(new Hex(0, 0, 0));
+            return List.of(Hex.of(0, 0, 0));
         } else if (boardState.getPieceCount() < 2) {
             return boardState.getAllPositions().getFirst().getNeighbours();
         }
@@ -20,26 +20,29 @@ public class HiveRuleEngine {
         Hex startTile = boardState.getRandomPiece().getHex();
         assert startTile != null; // something went wrong setting up the board
         List<Hex> validPositions = new ArrayList<>();
+        // tiles are marked when queued and empty hexes when first checked, so each position is reported once
         HashSet<Hex> visited = new HashSet<>();
         Queue<Hex> queue = new LinkedList<>();
         queue.offer(startTile);
+        visited.add(startTile);
 
         while (!queue.isEmpty()) {
             Hex current = queue.poll();
-            visited.add(current);
 
             // ignore hexes of opposite colour, still visit neighbouring tiles
             if (boardState.getPieceAt(current).getColour() != colour) {
-                for (Hex neighbour : current.getNeighbours()) {
-                    if (!visited.contains(neighbour) && boardState.hasTileAtHex(neighbour)) {
+                for (int i = 0; i < Hex.DIRECTIONS; i++) {
+                    Hex neighbour = current.getNeighbour(i);
+                    if (boardState.hasTileAtHex(neighbour) && visited.add(neighbour)) {
                         queue.offer(neighbour);
                     }
                 }
             } else {
                 assert colour == boardState.getPieceAt(current).getColour();
 
-                for (Hex neighbour : current.getNeighbours()) {
-                    if (visited.contains(neighbour)) continue;
+                for (int i = 0; i < Hex.DIRECTIONS; i++) {
+                    Hex neighbour = current.getNeighbour(i);
+                    if (!visited.add(neighbour)) continue;
 
                     if (boardState.hasTileAtHex(neighbour)) {
                         queue.offer(neighbour);
@@ -54,7 +57,8 @@ public class HiveRuleEngine {
 
     public boolean isValidPlacePosition(HiveBoardState boardState, HiveColour colour, Hex hex) {
         if (boardState.hasPieceAt(hex)) return false; // should be empty hex
-        for (Hex neighbour : hex.getNeighbours()) {
+        for (int i = 0; i < Hex.DIRECTIONS; i++) {
+            Hex neighbour = hex.getNeighbour(i);
             if (!boardState.hasPieceAt(neighbour)) continue;
 
             if (boardState.getPieceCount() < 2) {
@@ -96,7 +100,8 @@ public class HiveRuleEngine {
         assert boardState.getPieceAt(hiveTile.getHex()).equals(hiveTile);
 
         List<HiveMove> moves = new ArrayList<>();
-        for (Hex neighbouringTile : hiveTile.getHex().getNeighbours()) {
+        for (int i = 0; i < Hex.DIRECTIONS; i++) {
+            Hex neighbouringTile = hiveTile.getHex().getNeighbour(i);
             // tile empty check
             if (boardState.hasTileAtHex(neighbouringTile)) continue;
 
@@ -107,7 +112,8 @@ public class HiveRuleEngine {
 
             // check next position is still connected to hive?
             boolean hasNeighbours = false;
-            for (Hex nextNeighbouringTile : neighbouringTile.getNeighbours()) {
+            for (int j = 0; j < Hex.DIRECTIONS; j++) {
+                Hex nextNeighbouringTile = neighbouringTile.getNeighbour(j);
                 if (hasNeighbours) {continue;}
 
                 if (boardState.hasTileAtHex(nextNeighbouringTile) &&
@@ -131,13 +137,15 @@ public class HiveRuleEngine {
         // This is a temporary fix and will ignore the freedom to move rule
         if (boardState.getBoard().hasPieceAt(hiveTile.getHex()) &&
                 boardState.getBoard().getPieceAt(hiveTile.getHex()).size() > 1) {
-            for (Hex neighbour : hiveTile.getHex().getNeighbours()) {
+            for (int i = 0; i < Hex.DIRECTIONS; i++) {
+                Hex neighbour = hiveTile.getHex().getNeighbour(i);
                 moves.add(new HiveMove(hiveTile, neighbour, false));
             }
             return moves;
         }
 
-        for (Hex neighbour : hiveTile.getHex().getNeighbours()) {
+        for (int i = 0; i < Hex.DIRECTIONS; i++) {
+            Hex neighbour = hiveTile.getHex().getNeighbour(i);
             if (boardState.hasPieceAt(neighbour)) {
                 moves.add(new HiveMove(hiveTile, neighbour, false)); // ignores freedom to move
                 continue;
@@ -152,7 +160,8 @@ public class HiveRuleEngine {
     private List<HiveMove> spiderMoves(HiveBoardState boardState, HiveTile hiveTile) {
         List<HiveMove> moves = new ArrayList<>();
 
-        for (Hex neighbour : hiveTile.getHex().getNeighbours()) {
+        for (int i = 0; i < Hex.DIRECTIONS; i++) {
+            Hex neighbour = hiveTile.getHex().getNeighbour(i);
             if (boardState.hasTileAtHex(neighbour)) continue;
             HashSet<Hex> visited = new HashSet<>();
             visited.add(hiveTile.getHex());
@@ -164,7 +173,7 @@ public class HiveRuleEngine {
             spiderMoveToDepth(boardState, neighbour, hiveTile, 1, visited, moves);
         }
 
-        return moves;
+        return new ArrayList<>(new LinkedHashSet<>(moves)); // different paths can end on the same hex
     }
 
     private void spiderMoveToDepth(HiveBoardState boardState, Hex tile, HiveTile originalTile, int depth, HashSet<Hex> visited, List<HiveMove> moves) {
@@ -174,7 +183,8 @@ public class HiveRuleEngine {
         }
         visited.add(tile);
 
-        for (Hex neighbour : tile.getNeighbours()) {
+        for (int i = 0; i < Hex.DIRECTIONS; i++) {
+            Hex neighbour = tile.getNeighbour(i);
             if (isOccupiedUnconnectedPosition(boardState, neighbour, visited)) continue;
             if (!isFreeToMove(boardState, neighbour, tile)) continue;
             spiderMoveToDepth(boardState, neighbour, originalTile, depth + 1, visited, moves);
@@ -191,7 +201,8 @@ public class HiveRuleEngine {
         while (!queue.isEmpty()) {
             Hex next =  queue.poll();
 
-            for (Hex hex : next.getNeighbours()) {
+            for (int i = 0; i < Hex.DIRECTIONS; i++) {
+                Hex hex = next.getNeighbour(i);
                 if (isOccupiedUnconnectedPosition(boardState, hex, visited)) continue;
                 if (!isFreeToMove(boardState, next, hex)) continue;
                 queue.add(hex);
@@ -206,11 +217,12 @@ public class HiveRuleEngine {
     private List<HiveMove> grassHopperMoves(HiveBoardState boardState, HiveTile hiveTile) {
         List<HiveMove> moves = new ArrayList<>();
 
-        for (int i = 0; i < 6; i++) { // this doesn't feel modular, should change
-            if (!boardState.hasTileAtHex(Hex.hexNeighbour(hiveTile.getHex(), i))) continue;
+        for (int i = 0; i < Hex.DIRECTIONS; i++) {
+            Hex neighbour = hiveTile.getHex().getNeighbour(i);
+            if (!boardState.hasTileAtHex(neighbour)) continue;
             moves.add(new HiveMove(
                             hiveTile,
-                            hopDirection(boardState, Hex.hexNeighbour(hiveTile.getHex(), i), i),
+                            hopDirection(boardState, neighbour, i),
                             false));
         }
 
@@ -218,7 +230,7 @@ public class HiveRuleEngine {
     }
 
     private Hex hopDirection(HiveBoardState boardState, Hex tile, int direction) {
-        Hex neighbour = Hex.hexNeighbour(tile, direction);
+        Hex neighbour = tile.getNeighbour(direction);
         if (!boardState.hasTileAtHex(neighbour)) return neighbour;
 
         return hopDirection(boardState, neighbour, direction);
@@ -231,7 +243,8 @@ public class HiveRuleEngine {
 
         // check if it will have at least one neighbour
         boolean neighbourFound = false;
-        for (Hex neighbour : hex.getNeighbours()) {
+        for (int i = 0; i < Hex.DIRECTIONS; i++) {
+            Hex neighbour = hex.getNeighbour(i);
             if (visited.contains(neighbour)) continue; // if hex is visited
             if (boardState.hasTileAtHex(neighbour)) neighbourFound = true;
         }
@@ -241,14 +254,13 @@ public class HiveRuleEngine {
     public boolean isFreeToMove(HiveBoardState boardState, Hex currentPosition, Hex nextPosition) {
         // Move must belong to board
 
-        if (Hex.hexDistance(currentPosition, nextPosition) > 1) return true;
-        Hex direction = Hex.hexSubtract(nextPosition, currentPosition);
-        int directionIndex = Hex.hexDirectionAsIndex(direction);
+        int directionIndex = currentPosition.directionTo(nextPosition);
+        if (directionIndex < 0) return true; // not adjacent
 
         boolean leftDirectionBlocked = boardState.hasTileAtHex(
-                Hex.hexNeighbour(currentPosition, (directionIndex + 1 + 6) % 6));
+                currentPosition.getNeighbour((directionIndex + 1) % Hex.DIRECTIONS));
         boolean rightDirectionBlocked = boardState.hasTileAtHex(
-                Hex.hexNeighbour(currentPosition, (directionIndex - 1 + 6) % 6));
+                currentPosition.getNeighbour((directionIndex - 1 + Hex.DIRECTIONS) % Hex.DIRECTIONS));
 
         return !(leftDirectionBlocked && rightDirectionBlocked);
     }
@@ -268,7 +280,8 @@ public class HiveRuleEngine {
             Hex current = queue.poll();
             visited.add(current);
 
-            for (Hex neighbour : current.getNeighbours()) {
+            for (int i = 0; i < Hex.DIRECTIONS; i++) {
+                Hex neighbour = current.getNeighbour(i);
                 if (neighbour.equals(tileToSkip)) continue;
 
                 if (boardState.hasPieceAt(neighbour) && !visited.contains(neighbour)) {
@@ -292,10 +305,6 @@ public class HiveRuleEngine {
             if (tileStack.size() > 1 && tileStack.peek() == hiveTile) return true;
         }
 
-        Hex tile;
-        do {
-             tile = boardState.getRandomPiece().getHex();
-        } while (hiveTile.getHex() == tile);
-        return isConnected(boardState, tile, hiveTile.getHex());
+        return !boardState.isArticulationPoint(hiveTile.getHex());
     }
 }
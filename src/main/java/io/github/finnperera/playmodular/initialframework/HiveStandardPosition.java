@@ -0,0 +1,76 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fixed positions for benchmarks and perft runs, so numbers from before and after an engine change compare like for like.
+ * Each position is reached by a seeded random playout. Moves are de-duplicated and sorted by source, destination and
+ * tile before choosing, which makes the result independent of the shuffle in HiveGame.getAvailableMoves.
+ */
+public enum HiveStandardPosition {
+    START(0, 0),
+    OPENING(11, 6),
+    EARLY_GAME(7, 14),
+    MIDGAME(3, 24),
+    CROWDED_MIDGAME(5, 36);
+
+    private final long seed;
+    private final int plies;
+
+    HiveStandardPosition(long seed, int plies) {
+        this.seed = seed;
+        this.plies = plies;
+    }
+
+    public int getPlies() {
+        return plies;
+    }
+
+    public HiveGame create() {
+        return create(HiveBoardStorageType.MAP);
+    }
+
+    public HiveGame create(HiveBoardStorageType storageType) {
+        Random random = new Random(seed);
+        HiveGame game = new HiveGame(new HiveRuleEngine(), new HivePlayer(HiveColour.WHITE),
+                new HivePlayer(HiveColour.BLACK), new HiveBoardState(storageType.createStorage()));
+
+        for (int i = 0; i < plies; i++) {
+            List<HiveMove> moves = sortedMoves(game);
+            if (moves.isEmpty()) {
+                game.nextTurn(); // pass
+                continue;
+            }
+            game.applyMove(moves.get(random.nextInt(moves.size())));
+        }
+        return game;
+    }
+
+    // the order the recorded perft counts and benchmark results were taken with, changing it changes the positions
+    private static final Comparator<HiveMove> STABLE_ORDER = Comparator
+            .comparingInt((HiveMove move) -> source(move).getR())
+            .thenComparingInt(move -> source(move).getQ())
+            .thenComparingInt(move -> move.getNextPosition().getR())
+            .thenComparingInt(move -> move.getNextPosition().getQ())
+            .thenComparing(HiveMove::isPlacementMove)
+            .thenComparing(move -> move.getPieceToMove().getColour())
+            .thenComparing(move -> move.getPieceToMove().getTileType());
+
+    // the legal moves without duplicates in a stable order
+    public static List<HiveMove> sortedMoves(HiveGame game) {
+        List<HiveMove> moves = new ArrayList<>(new LinkedHashSet<>(game.getAvailableMoves(game.getCurrentPlayer())));
+        moves.sort(STABLE_ORDER);
+        return moves;
+    }
+
+    private static Hex source(HiveMove move) {
+        Hex hex = move.getPieceToMove().getHex();
+        return move.isPlacementMove() || hex == null ? move.getNextPosition() : hex;
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
+
+/**
+ * Zobrist keys for Hive positions.
+ * The board is unbounded, so rather than reading keys from a fixed random table each key is derived by
+ * mixing the packed feature through the SplitMix64 finaliser, giving every feature an independent-looking
+ * 64-bit key that can be XORed in and out incrementally.
+ */
+public final class HiveZobrist {
+    private static final HiveTileType[] TILE_TYPES = HiveTileType.values();
+
+    // domain tags keep the different kinds of key apart
+    private static final long PIECE_TAG = 0x1L << 60;
+    private static final long HAND_TAG = 0x2L << 60;
+    private static final long SIDE_TO_MOVE = mix(0x3L << 60);
+
+    private HiveZobrist() {}
+
+    // height is the index of the tile within its stack, 0 for a tile on the ground
+    public static long pieceKey(Hex hex, int height, HiveTileType type, HiveColour colour) {
+        long feature = ((long) (hex.getQ() & 0xFFFF) << 32)
+                | ((long) (hex.getR() & 0xFFFF) << 16)
+                | ((long) (height & 0xFF) << 8)
+                | ((long) type.ordinal() << 1)
+                | colour.ordinal();
+        return mix(PIECE_TAG | feature);
+    }
+
+    public static long handKey(HiveColour colour, HiveTileType type, int remaining) {
+        long feature = ((long) (remaining & 0xFFFF) << 8) | ((long) type.ordinal() << 1) | colour.ordinal();
+        return mix(HAND_TAG | feature);
+    }
+
+    // XORed in while the second player is to move
+    public static long sideToMoveKey() {
+        return SIDE_TO_MOVE;
+    }
+
+    public static long handHash(HivePlayer player) {
+        long hash = 0;
+        for (HiveTileType type : TILE_TYPES) {
+            hash ^= handKey(player.getColour(), type, player.getTypeRemainingTiles(type));
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
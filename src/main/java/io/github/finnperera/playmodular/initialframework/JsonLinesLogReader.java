@@ -0,0 +1,71 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams games back out of a file written by JsonLinesLogWriter, one line at a time,
+ * so a session of any size can be read without loading it all.
+ */
+public class JsonLinesLogReader implements Closeable {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BufferedReader reader;
+    private final Map<String, Object> config;
+
+    @SuppressWarnings("unchecked")
+    public JsonLinesLogReader(File file) throws IOException {
+        this.reader = new BufferedReader(new FileReader(file));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            reader.close();
+            throw new IOException("Empty log file: " + file);
+        }
+        Map<String, Object> header = parse(headerLine);
+        this.config = (Map<String, Object>) header.get(JsonLinesLogWriter.CONFIG_KEY);
+    }
+
+    public Map<String, Object> getConfig() {
+        return config;
+    }
+
+    // next game in the file, null once all games have been read
+    public Map<String, Object> readGame() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) return null;
+        } while (line.isBlank());
+        return parse(line);
+    }
+
+    // lazily reads the remaining games, IO errors are rethrown unchecked
+    public Stream<Map<String, Object>> games() {
+        return reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> {
+                    try {
+                        return parse(line);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parse(String line) throws IOException {
+        return objectMapper.readValue(line, Map.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
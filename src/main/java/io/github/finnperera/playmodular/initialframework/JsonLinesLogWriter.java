@@ -0,0 +1,53 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends game logs to a JSON Lines file, one compact JSON object per line.
+ * The first line of a session file holds the game config, see JsonLinesLogReader.
+ * Writing a game never touches what is already in the file, so the cost per game stays constant.
+ */
+public class JsonLinesLogWriter implements Closeable {
+    public static final String CONFIG_KEY = "game config";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BufferedWriter writer;
+
+    public JsonLinesLogWriter(File file, boolean append) throws IOException {
+        this.writer = new BufferedWriter(new FileWriter(file, append));
+    }
+
+    public void writeHeader(LoggableGameConfig loggableConfig) throws IOException {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put(CONFIG_KEY, loggableConfig.toLogMap());
+        writeLine(header);
+        flush();
+    }
+
+    // buffered until flush, so a batch of games costs one disk write
+    public void write(GameLog log) throws IOException {
+        writeLine(log.toMap());
+    }
+
+    public synchronized void flush() throws IOException {
+        writer.flush();
+    }
+
+    private synchronized void writeLine(Map<String, Object> record) throws IOException {
+        writer.write(objectMapper.writeValueAsString(record));
+        writer.newLine();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
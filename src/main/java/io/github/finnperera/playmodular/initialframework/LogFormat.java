@@ -0,0 +1,7 @@
+package io.github.finnperera.playmodular.initialframework;
+
+public enum LogFormat {
+    JSON, // one pretty printed document, rewritten after every game
+    JSON_LINES, // config header line then one line appended per game
+    BINARY // packed game records, see GameRecordFormat
+}
@@ -33,6 +33,19 @@ Create a CSV logging:
 public class LoggingManager {
     private static final String LOG_DIR = "target/logs/";
 
+    private final LogFormat logFormat; // for sessions set up without choosing a format
+    private final Map<String, LogFormat> sessionFormats = new HashMap<>(); // by file prefix
+    private final Map<String, JsonLinesLogWriter> jsonLinesWriters = new HashMap<>(); // open writers by file prefix
+    private final Map<String, GameRecordWriter> binaryWriters = new HashMap<>();
+
+    public LoggingManager() {
+        this(LogFormat.JSON);
+    }
+
+    public LoggingManager(LogFormat logFormat) {
+        this.logFormat = logFormat;
+    }
+
     private void ensureLogDirectory() {
         File logDir = new File(LOG_DIR);
         if (!logDir.exists()) {
@@ -43,13 +56,23 @@ public class LoggingManager {
     }
 
     public String setUpSessionLog(LoggableGameConfig loggableConfig) {
+        return setUpSessionLog(loggableConfig, logFormat);
+    }
+
+    // games logged under the returned prefix are written in sessionFormat, alongside the CSV summary
+    public synchronized String setUpSessionLog(LoggableGameConfig loggableConfig, LogFormat sessionFormat) {
         ensureLogDirectory();
 
         String filePrefix = LOG_DIR + loggableConfig.getGameName() + "-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        sessionFormats.put(filePrefix, sessionFormat);
 
         try {
             generateCSVFile(filePrefix, loggableConfig.getExpectedPlayers());
-            generateJSONFile(filePrefix, loggableConfig);
+            switch (sessionFormat) {
+                case JSON -> generateJSONFile(filePrefix, loggableConfig);
+                case JSON_LINES -> generateJSONLinesFile(filePrefix, loggableConfig);
+                case BINARY -> generateBinaryFile(filePrefix, loggableConfig);
+            }
         } catch (IOException e) {
             e.printStackTrace(); // maybe let it throw to the top?
         }
@@ -90,22 +113,95 @@ public class LoggingManager {
         objectMapper.writerWithDefaultPrettyPrinter().writeValue(jsonFile, rootMap);
     }
 
+    private synchronized void generateJSONLinesFile(String filePrefix, LoggableGameConfig loggableConfig) throws IOException {
+        JsonLinesLogWriter writer = new JsonLinesLogWriter(new File(filePrefix + ".jsonl"), false);
+        writer.writeHeader(loggableConfig);
+        jsonLinesWriters.put(filePrefix, writer);
+    }
+
+    private synchronized void generateBinaryFile(String filePrefix, LoggableGameConfig loggableConfig) throws IOException {
+        GameRecordWriter writer = new GameRecordWriter(new File(filePrefix + ".hgr"), false);
+        writer.writeHeader(loggableConfig);
+        binaryWriters.put(filePrefix, writer);
+    }
+
     public synchronized void addResultToFiles(String filePrefix, GameLog log) {
+        addResultsToFiles(filePrefix, List.of(log));
+    }
+
+    // writes a batch of games with one open and flush per file
+    public synchronized void addResultsToFiles(String filePrefix, List<GameLog> logs) {
         File csvFile = getCSVFile(filePrefix);
-        File jsonFile = getJSONFile(filePrefix);
-        addToCSVFile(csvFile, log);
-        addToJSONFile(jsonFile, log);
+        addToCSVFile(csvFile, logs);
+        switch (sessionFormats.getOrDefault(filePrefix, logFormat)) {
+            case JSON -> addToJSONFile(getJSONFile(filePrefix), logs);
+            case JSON_LINES -> addToJSONLinesFile(filePrefix, logs);
+            case BINARY -> addToBinaryFile(filePrefix, logs);
+        }
+    }
+
+    private synchronized void addToJSONLinesFile(String filePrefix, List<GameLog> logs) {
+        try {
+            JsonLinesLogWriter writer = getJSONLinesWriter(filePrefix);
+            for (GameLog log : logs) {
+                writer.write(log);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
-    private synchronized void addToCSVFile(File csv, GameLog log) {
+    private synchronized void addToBinaryFile(String filePrefix, List<GameLog> logs) {
+        try {
+            GameRecordWriter writer = getBinaryWriter(filePrefix);
+            for (GameLog log : logs) {
+                try {
+                    writer.write(log);
+                } catch (IllegalArgumentException e) {
+                    e.printStackTrace(); // a game that can't be recorded is skipped, not the rest of the batch
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // closes all open session files, games logged afterwards reopen their file in append mode
+    public synchronized void close() {
+        for (JsonLinesLogWriter writer : jsonLinesWriters.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        jsonLinesWriters.clear();
+
+        // binary sessions get their GameArchive index built once no more games are being added
+        for (Map.Entry<String, GameRecordWriter> entry : binaryWriters.entrySet()) {
+            try {
+                entry.getValue().close();
+                GameArchive.buildIndex(new File(entry.getKey() + ".hgr"));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        binaryWriters.clear();
+    }
+
+    private synchronized void addToCSVFile(File csv, List<GameLog> logs) {
         try (CSVWriter csvWriter = new CSVWriter(new FileWriter(csv, true))) {
-            csvWriter.writeNext(log.toStringArray());
+            for (GameLog log : logs) {
+                csvWriter.writeNext(log.toStringArray());
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private synchronized void addToJSONFile(File json, GameLog log) {
+    private synchronized void addToJSONFile(File json, List<GameLog> logs) {
         ObjectMapper objectMapper = new ObjectMapper();
 
         try {
@@ -114,9 +210,10 @@ public class LoggingManager {
             ArrayNode gamesArray;
             gamesArray = (ArrayNode) root.get("games");
 
-            ObjectNode game = objectMapper.convertValue(log.toMap(), ObjectNode.class);
-
-            gamesArray.add(game);
+            for (GameLog log : logs) {
+                ObjectNode game = objectMapper.convertValue(log.toMap(), ObjectNode.class);
+                gamesArray.add(game);
+            }
 
             objectMapper.writerWithDefaultPrettyPrinter().writeValue(json, root);
         } catch (IOException e) {
@@ -132,6 +229,32 @@ public class LoggingManager {
         return csvFile;
     }
 
+    private JsonLinesLogWriter getJSONLinesWriter(String filePrefix) throws IOException {
+        JsonLinesLogWriter writer = jsonLinesWriters.get(filePrefix);
+        if (writer == null) {
+            File jsonLinesFile = new File(filePrefix + ".jsonl");
+            if (!jsonLinesFile.exists()) {
+                throw new RuntimeException("JSON Lines file does not exist");
+            }
+            writer = new JsonLinesLogWriter(jsonLinesFile, true);
+            jsonLinesWriters.put(filePrefix, writer);
+        }
+        return writer;
+    }
+
+    private GameRecordWriter getBinaryWriter(String filePrefix) throws IOException {
+        GameRecordWriter writer = binaryWriters.get(filePrefix);
+        if (writer == null) {
+            File binaryFile = new File(filePrefix + ".hgr");
+            if (!binaryFile.exists()) {
+                throw new RuntimeException("Binary game record file does not exist");
+            }
+            writer = new GameRecordWriter(binaryFile, true);
+            binaryWriters.put(filePrefix, writer);
+        }
+        return writer;
+    }
+
     private File getJSONFile(String filePrefix) {
         File jsonFile = new File(filePrefix + ".json");
         if (!jsonFile.exists()) {
@@ -1,6 +1,5 @@
 package io.github.finnperera.playmodular.initialframework;
 
-import io.github.finnperera.playmodular.initialframework.HivePanes.HiveGamePane;
 import io.github.finnperera.playmodular.initialframework.HivePlayers.HiveAI;
 import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
 import javafx.application.Application;
@@ -16,20 +15,27 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class Main extends Application implements GameResultListener {
     HiveGameConfig gameConfig = new HiveGameConfig();
-    LoggingManager loggingManager = new LoggingManager();
+    LoggingManager loggingManager = new LoggingManager(LogFormat.JSON_LINES);
+    AsyncGameLogWriter logWriter = new AsyncGameLogWriter(loggingManager, 1024);
+    private final List<SequentialGameService> gameServices = new ArrayList<>();
+    // one pool for every simultaneous run, resized to the thread count each run asks for
+    private final ThreadPoolExecutor simulationExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
     String filePrefix;
     Stage stage;
     Scene mainMenuScene;
 
     Button createGameButton = new Button("Create Game");
     CheckBox loggingCheckBox = new CheckBox("Generate Log");
+    ChoiceBox<LogFormat> logFormatChoiceBox = new ChoiceBox<>();
     CheckBox disableVisuals = new CheckBox("Disable Visual");
     CheckBox multiGameCheckBox = new CheckBox("Multiple Games");
+    CheckBox arrayBoardCheckBox = new CheckBox("Array Board Storage");
 
     Spinner<Integer> numGamesSpinner;
     Spinner<Integer> simultaneousSimCount;
@@ -57,6 +63,24 @@ public class Main extends Application implements GameResultListener {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        gameServices.forEach(SequentialGameService::close); // lets headless games in progress finish and log
+        stopSimultaneousGames();
+        logWriter.close(); // writes any games still queued
+    }
+
+    // like the sequential services, games already running finish and log, games not started yet are dropped
+    private void stopSimultaneousGames() {
+        simulationExecutor.shutdown();
+        simulationExecutor.getQueue().clear();
+        try {
+            simulationExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     // #BUG - need to update from onGameButtonClicked
     private void initialiseGameStateButton(Pane root) {
         Button createGameState = new Button("Create Game State");
@@ -64,7 +88,7 @@ public class Main extends Application implements GameResultListener {
             try {
                 onDesignGameButtonClicked(mainMenuScene, stage)
                         .thenAccept(hiveGame -> {
-                            prepareGameSetUp(disableVisuals.isSelected(), loggingCheckBox.isSelected());
+                            if (!prepareGameSetUp(disableVisuals.isSelected(), loggingCheckBox.isSelected())) return;
                             runGamesSequentiallyFromGameState(numGamesSpinner.getValue(),
                                     disableVisuals.isSelected(),
                                     loggingCheckBox.isSelected(),
@@ -92,7 +116,7 @@ public class Main extends Application implements GameResultListener {
 
     private void createPlayerChoiceBox(Pane root, HiveColour colour) {
         ChoiceBox<String> playerChoiceBox = new ChoiceBox<>();
-        playerChoiceBox.getItems().addAll("Human", "Monte Carlo", "Minimax", "Alpha-Beta", "Random Moves");
+        playerChoiceBox.getItems().addAll("Human", "Monte Carlo", "Compact Monte Carlo", "Minimax", "Alpha-Beta", "Random Moves");
         playerChoiceBox.setValue("Human");
 
         VBox optionContainer = new VBox();
@@ -167,7 +191,7 @@ public class Main extends Application implements GameResultListener {
             boolean isVisualDisabled = disableVisuals.isSelected();
             boolean isMultiGame = multiGameCheckBox.isSelected();
 
-            prepareGameSetUp(isVisualDisabled, shouldLog);
+            if (!prepareGameSetUp(isVisualDisabled, shouldLog)) return;
 
             if (isMultiGame && isVisualDisabled && threadCount > 1) {
                 runGamesSimultaneously(numGames, threadCount, shouldLog);
@@ -177,47 +201,69 @@ public class Main extends Application implements GameResultListener {
         });
         root.getChildren().add(createGameButton);
         root.getChildren().add(loggingCheckBox);
+        root.getChildren().add(createLogFormatChoice());
+        root.getChildren().add(arrayBoardCheckBox);
         root.getChildren().add(multiGameContainer);
     }
 
-    private void prepareGameSetUp(boolean isVisualDisabled, boolean shouldLog) {
+    // JSON Lines by default, binary records are the smallest and can be opened with GameArchive
+    private Node createLogFormatChoice() {
+        logFormatChoiceBox.getItems().addAll(LogFormat.values());
+        logFormatChoiceBox.setValue(LogFormat.JSON_LINES);
+        return new VBox(new Label("Log Format"), logFormatChoiceBox);
+    }
+
+    // false if the games can't be played with these settings
+    private boolean prepareGameSetUp(boolean isVisualDisabled, boolean shouldLog) {
         if (isVisualDisabled && (!gameConfig.getPlayer1().isAI() || !gameConfig.getPlayer2().isAI())) {
             showError("When Humans are playing you must have the visual component enabled", "Lack of Visual");
-            return;
+            return false;
         }
 
+        gameConfig.setBoardStorageType(arrayBoardCheckBox.isSelected() ?
+                HiveBoardStorageType.ARRAY : HiveBoardStorageType.MAP);
+
         if (shouldLog) {
-            filePrefix = loggingManager.setUpSessionLog(gameConfig);
+            filePrefix = loggingManager.setUpSessionLog(gameConfig, logFormatChoiceBox.getValue());
         }
+        return true;
     }
 
+    // games are played headless on the pool, the menu stays responsive while they run
     private void runGamesSimultaneously(int numGames, int threadCount, boolean shouldLog) {
-        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
-            for (int i = 0; i < numGames; i++) {
-                executor.submit(() -> {
-                    HiveGame game = gameConfig.createGame();
-                    HiveGamePane gamePane = new HiveGamePane(game);
-                    HiveBoardGameController controller = new HiveBoardGameController(gamePane, game);
-
-                    if (shouldLog) {
-                        enableLogging(controller);
-                    }
-
-                    controller.beginGame();
-                });
-            }
+        // the maximum can never be below the core size, so grow the maximum first and shrink it last
+        if (threadCount > simulationExecutor.getMaximumPoolSize()) {
+            simulationExecutor.setMaximumPoolSize(threadCount);
+            simulationExecutor.setCorePoolSize(threadCount);
+        } else {
+            simulationExecutor.setCorePoolSize(threadCount);
+            simulationExecutor.setMaximumPoolSize(threadCount);
+        }
+
+        for (int i = 0; i < numGames; i++) {
+            simulationExecutor.execute(() -> {
+                HeadlessGameRunner runner = new HeadlessGameRunner(gameConfig.createGame());
+
+                if (shouldLog) {
+                    runner.addGameResultListener(this);
+                }
+
+                runner.run();
+            });
         }
     }
 
     private void runGamesSequentially(int numGames, boolean isVisualDisabled, boolean shouldLog) {
         SequentialGameService sequentialGameService =
-                new SequentialGameService(filePrefix, shouldLog, isVisualDisabled, gameConfig, loggingManager, mainMenuScene, stage);
+                new SequentialGameService(filePrefix, shouldLog, isVisualDisabled, gameConfig, logWriter, mainMenuScene, stage);
+        gameServices.add(sequentialGameService);
         sequentialGameService.play(numGames);
     }
 
     private void runGamesSequentiallyFromGameState(int numGames, boolean isVisualDisabled, boolean shouldLog, HiveGame game) {
         SequentialGameService sequentialGameService =
-                new SequentialGameService(filePrefix, shouldLog, isVisualDisabled, gameConfig, loggingManager, mainMenuScene, stage);
+                new SequentialGameService(filePrefix, shouldLog, isVisualDisabled, gameConfig, logWriter, mainMenuScene, stage);
+        gameServices.add(sequentialGameService);
         sequentialGameService.play(numGames, game);
     }
 
@@ -250,10 +296,6 @@ public class Main extends Application implements GameResultListener {
         container.getChildren().add(simCount);
     }
 
-    private void enableLogging(HiveBoardGameController controller) { // needs to be more modular
-        controller.addGameResultListener(this);
-    }
-
     private List<Node> createAIOptions(List<Option<?>> options) {
         List<Node> optionNodes = new ArrayList<>();
         for (Option<?> option : options) {
@@ -294,6 +336,6 @@ public class Main extends Application implements GameResultListener {
 
     @Override
     public void onGameResult(GameLog log) {
-        loggingManager.addResultToFiles(filePrefix, log);
+        logWriter.submit(filePrefix, log);
     }
 }
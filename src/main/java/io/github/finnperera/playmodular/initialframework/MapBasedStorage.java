@@ -67,4 +67,9 @@ public class MapBasedStorage<P, T> implements BoardStorage<P, T>{
     public int size() {
         return board.size();
     }
+
+    @Override
+    public MapBasedStorage<P, T> copy(Function<T, T> deepCopyFunction) {
+        return new MapBasedStorage<>(this, deepCopyFunction);
+    }
 }
@@ -0,0 +1,31 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Plays the rollouts used by Monte Carlo search, picking moves as the RolloutPolicy says. An engine keeps reusable
+ * working buffers, so each search thread should create its own with SearchableGame.createPlayoutEngine.
+ */
+public interface PlayoutEngine<P, T> {
+    // Plays on game in place until it ends, maxMoves moves have been made, the policy cuts it off or stop returns
+    // true, then undoes the moves so game is left as it was. Returns the result for player: 1 win, -1 loss,
+    // 0 draw or unfinished, the policy's evaluation in between for a cut off playout, NaN if stopped.
+    // listener, when not null, is told about every move played.
+    double playout(SearchableGame<P, T> game, Player player, int maxMoves, RolloutPolicy<P, T> policy,
+                   BooleanSupplier stop, MoveListener listener);
+
+    @FunctionalInterface
+    interface MoveListener {
+        // byPlayer is true for moves made by the player the playout is scored for, the move is packed by encodeMove
+        void played(boolean byPlayer, long packedMove);
+    }
+
+    static double score(Game<?, ?> game, Player player) {
+        if (!game.isTerminalState()) return 0;
+        return switch (game.getGameResult(player)) {
+            case WIN -> 1;
+            case LOSS -> -1;
+            default -> 0;
+        };
+    }
+}
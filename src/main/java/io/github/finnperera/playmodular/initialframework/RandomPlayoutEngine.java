@@ -0,0 +1,74 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+// picks from the full getAvailableMoves list, works for any SearchableGame
+public class RandomPlayoutEngine<P, T> implements PlayoutEngine<P, T> {
+
+    @Override
+    public double playout(SearchableGame<P, T> game, Player player, int maxMoves, RolloutPolicy<P, T> policy,
+                          BooleanSupplier stop, MoveListener listener) {
+        Random random = ThreadLocalRandom.current();
+        int plies = policy.hasCutoff() ? Math.min(maxMoves, policy.cutoffPlies()) : maxMoves;
+        int applied = 0;
+        boolean previousPassed = false;
+        boolean stopped = false;
+        while (!game.isTerminalState() && applied < plies) {
+            if (stop.getAsBoolean()) {
+                stopped = true;
+                break;
+            }
+
+            List<? extends Move<P, T>> availableMoves = game.getAvailableMoves(game.getCurrentPlayer());
+            if (availableMoves.isEmpty()) {
+                if (previousPassed) break; // neither player can move
+                game.applyPass();
+                previousPassed = true;
+            } else {
+                Move<P, T> move = chooseMove(game, availableMoves, policy, random);
+                if (listener != null) {
+                    listener.played(game.getCurrentPlayer().getPlayerID().equals(player.getPlayerID()), game.encodeMove(move));
+                }
+                game.applyMove(move);
+                previousPassed = false;
+            }
+            applied++;
+        }
+
+        double result;
+        if (stopped) {
+            result = Double.NaN;
+        } else if (policy.hasCutoff() && applied == plies) {
+            result = policy.evaluate(game, player);
+        } else {
+            result = PlayoutEngine.score(game, player);
+        }
+        for (int i = 0; i < applied; i++) {
+            game.undoMove();
+        }
+        return result;
+    }
+
+    private Move<P, T> chooseMove(SearchableGame<P, T> game, List<? extends Move<P, T>> availableMoves,
+                                  RolloutPolicy<P, T> policy, Random random) {
+        if (!policy.isGreedy() || random.nextDouble() < policy.epsilon()) {
+            return availableMoves.get(random.nextInt(availableMoves.size()));
+        }
+
+        // the list is already shuffled, so ties go to a random move
+        Move<P, T> best = null;
+        int bestScore = Integer.MIN_VALUE;
+        Heuristic.MoveScorer<P, T> scorer = policy.heuristic().getMoveOrderingScorer(game);
+        for (Move<P, T> move : availableMoves) {
+            int score = scorer.score(move);
+            if (best == null || score > bestScore) {
+                best = move;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.finnperera.playmodular.initialframework;
+
+/**
+ * How a PlayoutEngine picks moves and when it stops.
+ * With probability epsilon a move is picked at random, otherwise the move the heuristic's move ordering score
+ * rates highest is played. After cutoffPlies moves (0 plays on to the move limit) an unfinished playout is scored
+ * with the heuristic's evaluation, squashed into (-1, 1) by tanh(evaluation / evaluationScale).
+ */
+public record RolloutPolicy<P, T>(Heuristic<P, T> heuristic, double epsilon, int cutoffPlies, double evaluationScale) {
+
+    public RolloutPolicy {
+        if (epsilon < 0 || epsilon > 1) throw new IllegalArgumentException("Epsilon must be between 0 and 1: " + epsilon);
+        if (cutoffPlies < 0) throw new IllegalArgumentException("Cutoff plies cannot be negative: " + cutoffPlies);
+        if (evaluationScale <= 0) throw new IllegalArgumentException("Evaluation scale must be positive: " + evaluationScale);
+        if (heuristic == null && (epsilon < 1 || cutoffPlies > 0)) {
+            throw new IllegalArgumentException("Greedy moves and cutoffs need a heuristic");
+        }
+    }
+
+    public static <P, T> RolloutPolicy<P, T> uniformRandom() {
+        return new RolloutPolicy<>(null, 1, 0, 1);
+    }
+
+    public boolean isGreedy() {
+        return epsilon < 1;
+    }
+
+    public boolean hasCutoff() {
+        return cutoffPlies > 0;
+    }
+
+    // result of an unfinished playout for player, terminal positions still score exactly
+    public double evaluate(Game<P, T> game, Player player) {
+        if (game.isTerminalState()) return PlayoutEngine.score(game, player);
+        return Math.tanh(heuristic.getEvaluation(game, player) / evaluationScale);
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.finnperera.playmodular.initialframework;
+
+/**
+ * A game whose state can be changed in place, so a search can apply and undo moves on a single copy
+ * instead of creating a new game for every node it visits.
+ */
+public interface SearchableGame<P, T> extends Game<P, T> {
+    // independent copy that the caller is free to mutate
+    SearchableGame<P, T> copyForSearch();
+
+    // move must come from getAvailableMoves on the current state, it is not validated again
+    void applyMove(Move<P, T> move);
+
+    // current player has no available moves
+    void applyPass();
+
+    // reverts the most recent applyMove or applyPass
+    void undoMove();
+
+    // 64-bit hash of the position, including whose turn it is, equal positions give equal hashes
+    long getPositionHash();
+
+    // exact comparison for when a hash match alone is not enough, such as handing a search tree over to a new position
+    boolean isSamePosition(SearchableGame<P, T> other);
+
+    // packs a move from getAvailableMoves into a long, for search trees that store moves in primitive arrays
+    long encodeMove(Move<P, T> move);
+
+    // inverse of encodeMove, the result can be passed to applyMove
+    Move<P, T> decodeMove(long packedMove);
+
+    // a new engine for random playouts from this game's positions, one per search thread
+    default PlayoutEngine<P, T> createPlayoutEngine() {
+        return new RandomPlayoutEngine<>();
+    }
+}
@@ -5,30 +5,33 @@ import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
-public class SequentialGameService {
+// headless runs play on a daemon thread, close() stops them after the current game and waits for it
+public class SequentialGameService implements AutoCloseable {
     private final Stage stage;
     private final Scene mainMenuScene;
     private final HiveGameConfig gameConfig;
-    private final LoggingManager loggingManager;
+    private final AsyncGameLogWriter logWriter;
     private final String logFilePrefix;
     private final boolean shouldLog;
     private final boolean isVisualDisabled;
 
     private HiveGame predefinedGame;
-    private int gamesLeft;
+    private volatile int gamesLeft;
+    private volatile boolean closed = false;
+    private Thread headlessThread;
 
     public SequentialGameService(String logFilePrefix,
                                  boolean shouldLog,
                                  boolean isVisualEnabled,
                                  HiveGameConfig gameConfig,
-                                 LoggingManager loggingManager,
+                                 AsyncGameLogWriter logWriter,
                                  Scene mainMenuScene,
                                  Stage stage) {
         this.logFilePrefix = logFilePrefix;
         this.shouldLog = shouldLog;
         this.isVisualDisabled = isVisualEnabled;
         this.gameConfig = gameConfig;
-        this.loggingManager = loggingManager;
+        this.logWriter = logWriter;
         this.mainMenuScene = mainMenuScene;
         this.stage = stage;
         this.predefinedGame = null;
@@ -51,31 +54,62 @@ public class SequentialGameService {
             return;
         }
 
-        gamesLeft--;
-
-        HiveGame game;
-        if (predefinedGame != null) {
-            game = gameConfig.createGameFromGameState(predefinedGame);
-        } else {
-            game = gameConfig.createGame();
+        if (isVisualDisabled) {
+            // nothing to watch, so play the rest straight through off the FX thread
+            headlessThread = new Thread(this::playRemainingGamesHeadless, "headless-games");
+            headlessThread.setDaemon(true);
+            headlessThread.start();
+            return;
         }
 
+        gamesLeft--;
+
+        HiveGame game = createNextGame();
         HiveGamePane gamePane = new HiveGamePane(game);
         HiveBoardGameController controller = new HiveBoardGameController(gamePane, game);
 
         if (shouldLog) {
-            controller.addGameResultListener(log -> loggingManager.addResultToFiles(logFilePrefix, log));
+            controller.addGameResultListener(log -> logWriter.submit(logFilePrefix, log));
         }
 
-        if (isVisualDisabled) {
-            controller.setOnGameEnd(() -> Platform.runLater(this::playNextGame));
-        } else {
-            Scene gameScene = new Scene(gamePane, 1280, 640);
-            gamePane.setOnMainMenuClicked(() -> Platform.runLater(() -> stage.setScene(mainMenuScene)));
-            gamePane.setOnNextGameClicked(this::playNextGame);
-            stage.setScene(gameScene);
-        }
+        Scene gameScene = new Scene(gamePane, 1280, 640);
+        gamePane.setOnMainMenuClicked(() -> Platform.runLater(() -> stage.setScene(mainMenuScene)));
+        gamePane.setOnNextGameClicked(this::playNextGame);
+        stage.setScene(gameScene);
 
         controller.beginGame();
     }
+
+    private void playRemainingGamesHeadless() {
+        while (gamesLeft > 0 && !closed) {
+            gamesLeft--;
+
+            HeadlessGameRunner runner = new HeadlessGameRunner(createNextGame());
+            if (shouldLog) {
+                runner.addGameResultListener(log -> logWriter.submit(logFilePrefix, log));
+            }
+            runner.run();
+        }
+        if (!closed) Platform.runLater(() -> stage.setScene(mainMenuScene));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Thread thread = headlessThread;
+        if (thread == null) return;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HiveGame createNextGame() {
+        if (predefinedGame != null) {
+            return gameConfig.createGameFromGameState(predefinedGame);
+        } else {
+            return gameConfig.createGame();
+        }
+    }
 }
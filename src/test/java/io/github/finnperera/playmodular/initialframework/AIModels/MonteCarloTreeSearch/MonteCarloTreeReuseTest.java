@@ -0,0 +1,89 @@
+package io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTreeSearch;
+
+import io.github.finnperera.playmodular.initialframework.Hex;
+import io.github.finnperera.playmodular.initialframework.HiveGame;
+import io.github.finnperera.playmodular.initialframework.HiveStandardPosition;
+import io.github.finnperera.playmodular.initialframework.HiveTile;
+import io.github.finnperera.playmodular.initialframework.Move;
+import io.github.finnperera.playmodular.initialframework.Option;
+import io.github.finnperera.playmodular.initialframework.OptionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonteCarloTreeReuseTest {
+    private static final int ITERATIONS = 200;
+
+    // one thread and a fixed iteration count, so every search adds exactly ITERATIONS root visits
+    private static MonteCarloModel<Hex, HiveTile> reusingModel() {
+        MonteCarloModel<Hex, HiveTile> model = new MonteCarloModel<>();
+        model.setOptions(List.of(
+                new Option<>("Reuse tree", "", OptionType.TOGGLE, Boolean.class, true, null, null),
+                new Option<>("Iterations", "", OptionType.SPINNER, Integer.class, ITERATIONS, 1, 10000),
+                new Option<>("Number of threads", "", OptionType.SPINNER, Integer.class, 1, 1, 1),
+                new Option<>("Maximum Moves", "", OptionType.SPINNER, Integer.class, 30, 10, 1000)));
+        return model;
+    }
+
+    private static void search(MonteCarloModel<Hex, HiveTile> model, HiveGame game) {
+        model.getNextMove(game, game.getAvailableMoves(game.getCurrentPlayer()));
+    }
+
+    // the most visited grandchild, reached through the most visited child that has one
+    private static MCTSNode<Hex, HiveTile> mostVisitedGrandchild(MCTSNode<Hex, HiveTile> root, MCTSNode<Hex, HiveTile>[] via) {
+        MCTSNode<Hex, HiveTile> best = null;
+        for (MCTSNode<Hex, HiveTile> child : root.getChildren()) {
+            for (MCTSNode<Hex, HiveTile> grandchild : child.getChildren()) {
+                if (best == null || grandchild.getVisits() > best.getVisits()) {
+                    best = grandchild;
+                    via[0] = child;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Test
+    void reachedGrandchildBecomesTheNewRoot() {
+        HiveGame game = HiveStandardPosition.OPENING.create();
+        MonteCarloModel<Hex, HiveTile> model = reusingModel();
+        search(model, game);
+
+        MCTSNode<Hex, HiveTile> oldRoot = model.getRootNode();
+        @SuppressWarnings("unchecked")
+        MCTSNode<Hex, HiveTile>[] via = new MCTSNode[1];
+        MCTSNode<Hex, HiveTile> grandchild = mostVisitedGrandchild(oldRoot, via);
+        assertTrue(grandchild != null && grandchild.getVisits() > 0, "the first search never reached a grandchild");
+        int visitsBefore = grandchild.getVisits();
+
+        Move<Hex, HiveTile> move = oldRoot.getMoveTo(via[0]);
+        Move<Hex, HiveTile> reply = via[0].getMoveTo(grandchild);
+        search(model, game.makeMove(move).makeMove(reply));
+
+        assertSame(grandchild, model.getRootNode());
+        assertEquals(visitsBefore + ITERATIONS, model.getRootNode().getVisits());
+    }
+
+    @Test
+    void unrelatedPositionStartsAFreshTree() {
+        MonteCarloModel<Hex, HiveTile> model = reusingModel();
+        search(model, HiveStandardPosition.OPENING.create());
+        MCTSNode<Hex, HiveTile> oldRoot = model.getRootNode();
+
+        search(model, HiveStandardPosition.MIDGAME.create());
+
+        MCTSNode<Hex, HiveTile> newRoot = model.getRootNode();
+        assertEquals(ITERATIONS, newRoot.getVisits());
+        assertNotSame(oldRoot, newRoot);
+        for (MCTSNode<Hex, HiveTile> child : oldRoot.getChildren()) {
+            for (MCTSNode<Hex, HiveTile> grandchild : child.getChildren()) {
+                assertNotSame(grandchild, newRoot);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.finnperera.playmodular.initialframework.AIModels.MonteCarloTreeSearch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedMoveSetTest {
+
+    @Test
+    void matchesHashSetAcrossGrowthAndClears() {
+        Random random = new Random(1);
+        PackedMoveSet set = new PackedMoveSet();
+        Set<Long> expected = new HashSet<>();
+        for (int round = 0; round < 50; round++) {
+            // small key range so repeats are common, sizes up to several times the initial capacity
+            int count = random.nextInt(2000);
+            for (int i = 0; i < count; i++) {
+                long key = (random.nextInt(4000) - 2000L) << 20 | random.nextInt(32);
+                set.add(key);
+                expected.add(key);
+            }
+            assertEquals(expected.size(), set.size());
+            for (Long key : expected) {
+                assertTrue(set.contains(key), () -> "missing " + key);
+            }
+            for (int i = 0; i < 1000; i++) {
+                long key = random.nextLong();
+                assertEquals(expected.contains(key), set.contains(key));
+            }
+
+            set.clear();
+            for (Long key : expected) {
+                assertFalse(set.contains(key), () -> "still there after clear: " + key);
+            }
+            expected.clear();
+            assertEquals(0, set.size());
+        }
+    }
+
+    @Test
+    void zeroIsAnOrdinaryKey() {
+        PackedMoveSet set = new PackedMoveSet();
+        assertFalse(set.contains(0));
+        set.add(0);
+        assertTrue(set.contains(0));
+        set.clear();
+        assertFalse(set.contains(0));
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import io.github.finnperera.playmodular.initialframework.AIModels.RandomModel;
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HiveAI;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameArchiveTest {
+
+    private static List<GameLog> playRandomGames(int count) {
+        List<GameLog> logs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HiveGame game = new HiveGame(new HiveRuleEngine(), new HiveAI(HiveColour.WHITE, new RandomModel<>()),
+                    new HiveAI(HiveColour.BLACK, new RandomModel<>()), new HiveBoardState());
+            logs.add(new HeadlessGameRunner(game).run());
+        }
+        return logs;
+    }
+
+    private static File newArchive(List<GameLog> logs) throws IOException {
+        File archiveFile = Files.createTempFile("archive", ".hgr").toFile();
+        archiveFile.deleteOnExit();
+        GameArchive.indexFileFor(archiveFile).deleteOnExit();
+        try (GameRecordWriter writer = new GameRecordWriter(archiveFile, false)) {
+            writer.writeHeader(new HiveGameConfig());
+            for (GameLog log : logs) {
+                writer.write(log);
+            }
+        }
+        return archiveFile;
+    }
+
+    private static void assertSameGame(GameLog log, GameRecord record) {
+        assertEquals(log.getGameID(), record.gameID());
+        assertEquals(log.getTotalTurns(), record.totalTurns());
+        assertEquals(log.getMoveList().size(), record.moves().size());
+        for (int i = 0; i < record.moves().size(); i++) {
+            assertEquals(log.getMoveList().get(i).move(), record.moves().get(i).move(), log.getGameID() + " move " + i);
+        }
+    }
+
+    @Test
+    void everyWrittenGameCanBeFetchedById() throws IOException {
+        List<GameLog> logs = playRandomGames(20);
+        File archiveFile = newArchive(logs);
+
+        try (GameArchive archive = GameArchive.open(archiveFile)) {
+            assertEquals(logs.size(), archive.size());
+            List<GameLog> shuffled = new ArrayList<>(logs);
+            Collections.shuffle(shuffled, new Random(1)); // not in the order they were written
+            for (GameLog log : shuffled) {
+                assertTrue(archive.contains(log.getGameID()));
+                assertSameGame(log, archive.get(log.getGameID()));
+            }
+            assertNull(archive.get(UUID.randomUUID().toString()));
+            assertFalse(archive.contains("not a game id"));
+        }
+    }
+
+    @Test
+    void indexIsRebuiltAfterTheArchiveGrows() throws IOException {
+        List<GameLog> logs = playRandomGames(10);
+        File archiveFile = newArchive(logs.subList(0, 5));
+        try (GameArchive archive = GameArchive.open(archiveFile)) {
+            assertEquals(5, archive.size());
+            assertFalse(archive.contains(logs.get(5).getGameID()));
+        }
+
+        try (GameRecordWriter writer = new GameRecordWriter(archiveFile, true)) {
+            for (GameLog log : logs.subList(5, 10)) {
+                writer.write(log);
+            }
+        }
+        try (GameArchive archive = GameArchive.open(archiveFile)) {
+            assertEquals(10, archive.size());
+            for (GameLog log : logs) {
+                assertSameGame(log, archive.get(log.getGameID()));
+            }
+        }
+    }
+
+    @Test
+    void partlyWrittenLastRecordIsIgnored() throws IOException {
+        List<GameLog> logs = playRandomGames(3);
+        File archiveFile = newArchive(logs);
+        try (FileOutputStream out = new FileOutputStream(archiveFile, true)) {
+            out.write(new byte[]{0, 0, 1, 0, 1, 2, 3}); // length of a record that was never finished
+        }
+
+        try (GameArchive archive = GameArchive.open(archiveFile)) {
+            assertEquals(3, archive.size());
+            for (GameLog log : logs) {
+                assertSameGame(log, archive.get(log.getGameID()));
+            }
+        }
+    }
+}
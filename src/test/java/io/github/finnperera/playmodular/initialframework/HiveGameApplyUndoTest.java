@@ -0,0 +1,118 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HiveGameApplyUndoTest {
+
+    // everything applyMove changes, compared by value
+    private record Snapshot(Map<Hex, List<HiveTile>> board, List<Map<HiveTileType, Integer>> hands, int turn) {
+        static Snapshot of(HiveGame game) {
+            Map<Hex, List<HiveTile>> board = new HashMap<>();
+            for (Hex position : game.getBoardState().getAllPositions()) {
+                board.put(position, new ArrayList<>(game.getBoardState().getBoard().getPieceAt(position)));
+            }
+            List<Map<HiveTileType, Integer>> hands = new ArrayList<>();
+            for (Player player : game.getPlayers()) {
+                hands.add(new HashMap<>(((HivePlayer) player).getTiles()));
+            }
+            return new Snapshot(board, hands, game.getTurn());
+        }
+    }
+
+    @Test
+    void undoRestoresEveryMoveFromRandomGames() {
+        for (HiveBoardStorageType storageType : HiveBoardStorageType.values()) {
+            for (long seed = 1; seed <= 10; seed++) {
+                Random random = new Random(seed);
+                HiveGame game = HiveStandardPosition.START.create(storageType);
+                for (int ply = 0; ply < 50 && !game.isTerminalState(); ply++) {
+                    Snapshot before = Snapshot.of(game);
+                    List<HiveMove> moves = HiveStandardPosition.sortedMoves(game);
+                    for (HiveMove move : moves) {
+                        game.applyMove(move);
+                        game.undoMove();
+                        assertEquals(before, Snapshot.of(game), () -> "Undo did not restore the board after " + move);
+                    }
+
+                    if (moves.isEmpty()) {
+                        game.applyPass();
+                    } else {
+                        game.applyMove(moves.get(random.nextInt(moves.size())));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void applyMatchesMakeMove() {
+        for (long seed = 1; seed <= 10; seed++) {
+            Random random = new Random(seed);
+            HiveGame game = HiveStandardPosition.START.create();
+            for (int ply = 0; ply < 50 && !game.isTerminalState(); ply++) {
+                List<HiveMove> moves = HiveStandardPosition.sortedMoves(game);
+                if (moves.isEmpty()) break;
+
+                HiveMove move = moves.get(random.nextInt(moves.size()));
+                HiveGame made = game.makeMove(move);
+                game.applyMove(move);
+                assertEquals(Snapshot.of(made), Snapshot.of(game), () -> "applyMove and makeMove differ after " + move);
+            }
+        }
+    }
+
+    @Test
+    void undoingAWholeGameReturnsToTheStart() {
+        for (long seed = 1; seed <= 10; seed++) {
+            Random random = new Random(seed);
+            HiveGame game = HiveStandardPosition.START.create();
+            Snapshot start = Snapshot.of(game);
+            List<Snapshot> history = new ArrayList<>();
+            for (int ply = 0; ply < 60 && !game.isTerminalState(); ply++) {
+                history.add(Snapshot.of(game));
+                List<HiveMove> moves = HiveStandardPosition.sortedMoves(game);
+                if (moves.isEmpty()) {
+                    game.applyPass();
+                } else {
+                    game.applyMove(moves.get(random.nextInt(moves.size())));
+                }
+            }
+
+            for (int ply = history.size() - 1; ply >= 0; ply--) {
+                game.undoMove();
+                assertEquals(history.get(ply), Snapshot.of(game));
+            }
+            assertEquals(start, Snapshot.of(game));
+            assertThrows(IllegalStateException.class, game::undoMove);
+        }
+    }
+
+    @Test
+    void samePositionOnlyMatchesEqualPositions() {
+        for (HiveStandardPosition position : HiveStandardPosition.values()) {
+            HiveGame game = position.create(HiveBoardStorageType.ARRAY);
+            HiveGame copy = position.create(HiveBoardStorageType.MAP);
+            assertTrue(game.isSamePosition(copy), position.toString());
+
+            for (HiveMove move : HiveStandardPosition.sortedMoves(game)) {
+                game.applyMove(move);
+                assertFalse(game.isSamePosition(copy), () -> "Still the same position after " + move);
+                assertTrue(game.isSamePosition(copy.makeMove(move)), () -> "Different positions after " + move);
+                game.undoMove();
+                assertTrue(game.isSamePosition(copy), () -> "Undo did not restore the position after " + move);
+            }
+        }
+    }
+}
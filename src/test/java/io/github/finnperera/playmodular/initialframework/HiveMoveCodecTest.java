@@ -0,0 +1,91 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HiveMoveCodecTest {
+
+    private static final int[] EDGE_COORDINATES = {
+            HiveMoveCodec.MIN_COORDINATE, HiveMoveCodec.MIN_COORDINATE + 1, -33, -32, -1, 0, 31, 32,
+            HiveMoveCodec.MAX_COORDINATE - 1, HiveMoveCodec.MAX_COORDINATE
+    };
+
+    @Test
+    void placementsRoundTripAtCoordinateRangeEdges() {
+        for (int q : EDGE_COORDINATES) {
+            for (int r : EDGE_COORDINATES) {
+                Hex hex = Hex.of(q, r, -q - r);
+                for (HiveTileType type : HiveTileType.values()) {
+                    for (HiveColour colour : HiveColour.values()) {
+                        assertRoundTrip(new HiveMove(new HiveTile(type, hex, colour), hex, true));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void movementsRoundTripAtCoordinateRangeEdges() {
+        int[] offsets = {-30, -1, 0, 1, 30};
+        for (int q : EDGE_COORDINATES) {
+            for (int r : EDGE_COORDINATES) {
+                Hex destination = Hex.of(q, r, -q - r);
+                for (int dq : offsets) {
+                    for (int dr : offsets) {
+                        int sourceQ = q + dq;
+                        int sourceR = r + dr;
+                        Hex source = Hex.of(sourceQ, sourceR, -sourceQ - sourceR);
+                        assertRoundTrip(new HiveMove(new HiveTile(HiveTileType.ANT, source, HiveColour.BLACK), destination, false));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void coordinatesOutsideTheRangeAreRejected() {
+        int outside = HiveMoveCodec.MAX_COORDINATE + 1;
+        Hex hex = Hex.of(outside, 0, -outside);
+        assertThrows(IllegalArgumentException.class,
+                () -> HiveMoveCodec.encode(new HiveMove(new HiveTile(HiveTileType.BEETLE, hex, HiveColour.WHITE), hex, true)));
+    }
+
+    @Test
+    void everyLegalMoveRoundTripsAndEncodesUniquely() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Random random = new Random(seed);
+            HiveGame game = HiveStandardPosition.START.create();
+            for (int ply = 0; ply < 60 && !game.isTerminalState(); ply++) {
+                List<HiveMove> moves = HiveStandardPosition.sortedMoves(game);
+                Map<Long, HiveMove> seen = new HashMap<>();
+                for (HiveMove move : moves) {
+                    long packed = assertRoundTrip(move);
+                    HiveMove clash = seen.put(packed, move);
+                    assertEquals(null, clash, () -> "Two moves share an encoding: " + move);
+                }
+
+                if (moves.isEmpty()) {
+                    game.applyPass();
+                } else {
+                    game.applyMove(moves.get(random.nextInt(moves.size())));
+                }
+            }
+        }
+    }
+
+    private static long assertRoundTrip(HiveMove move) {
+        long packed = HiveMoveCodec.encode(move);
+        HiveMove decoded = HiveMoveCodec.decode(packed);
+        assertEquals(move, decoded);
+        assertEquals(move.isPlacementMove(), decoded.isPlacementMove());
+        assertEquals(move.getPieceToMove().getHex(), decoded.getPieceToMove().getHex());
+        return packed;
+    }
+}
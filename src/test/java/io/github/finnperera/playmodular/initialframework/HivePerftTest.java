@@ -0,0 +1,47 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HivePerftTest {
+
+    // leaf counts at depth 1, 2, ... Update only when a rules change is intended to alter move generation.
+    private static final Map<HiveStandardPosition, long[]> KNOWN_LEAVES = new EnumMap<>(Map.of(
+            HiveStandardPosition.START, new long[]{5, 150, 2220},
+            HiveStandardPosition.OPENING, new long[]{7, 212, 6388},
+            HiveStandardPosition.EARLY_GAME, new long[]{63, 1739, 112554},
+            HiveStandardPosition.MIDGAME, new long[]{57, 2859, 160110},
+            HiveStandardPosition.CROWDED_MIDGAME, new long[]{79, 4142, 324238}
+    ));
+
+    @Test
+    void leafCountsMatchKnownValues() {
+        for (HiveStandardPosition position : HiveStandardPosition.values()) {
+            long[] known = KNOWN_LEAVES.get(position);
+            assertTrue(known != null, () -> "No known leaf counts for " + position);
+
+            HiveGame game = position.create();
+            for (int depth = 1; depth <= known.length; depth++) {
+                HivePerft.Result result = HivePerft.perft(game, depth);
+                assertEquals(known[depth - 1], result.leaves(), position + " depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    void leavesByKindAddUpToTheTotal() {
+        for (HiveStandardPosition position : HiveStandardPosition.values()) {
+            HivePerft.Result result = HivePerft.perft(position.create(), 2);
+            long byKind = result.placements() + result.passes();
+            for (HiveTileType tileType : HiveTileType.values()) {
+                byKind += result.movements(tileType);
+            }
+            assertEquals(result.leaves(), byKind, position.toString());
+        }
+    }
+}
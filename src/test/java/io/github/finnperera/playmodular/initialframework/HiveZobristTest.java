@@ -0,0 +1,122 @@
+package io.github.finnperera.playmodular.initialframework;
+
+import io.github.finnperera.playmodular.initialframework.HivePlayers.HivePlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HiveZobristTest {
+
+    // the hash HiveGame.getPositionHash should have, built from the current contents only
+    private static long hashFromScratch(HiveGame game) {
+        long hash = 0;
+        HiveBoardState boardState = game.getBoardState();
+        for (Hex position : boardState.getAllPositions()) {
+            Stack<HiveTile> stack = boardState.getBoard().getPieceAt(position);
+            for (int height = 0; height < stack.size(); height++) {
+                HiveTile tile = stack.get(height);
+                hash ^= HiveZobrist.pieceKey(position, height, tile.getTileType(), tile.getColour());
+            }
+        }
+        List<Player> players = game.getPlayers();
+        for (Player player : players) {
+            hash ^= HiveZobrist.handHash((HivePlayer) player);
+        }
+        if (game.getCurrentPlayer() == players.get(1)) hash ^= HiveZobrist.sideToMoveKey();
+        return hash;
+    }
+
+    @Test
+    void incrementalHashMatchesHashFromScratch() {
+        for (HiveBoardStorageType storageType : HiveBoardStorageType.values()) {
+            for (long seed = 1; seed <= 10; seed++) {
+                Random random = new Random(seed);
+                HiveGame game = HiveStandardPosition.START.create(storageType);
+                for (int ply = 0; ply < 80 && !game.isTerminalState(); ply++) {
+                    assertEquals(hashFromScratch(game), game.getPositionHash(), "ply " + ply + " seed " + seed);
+
+                    List<HiveMove> moves = HiveStandardPosition.sortedMoves(game);
+                    if (moves.isEmpty()) {
+                        game.applyPass();
+                        continue;
+                    }
+                    HiveMove move = moves.get(random.nextInt(moves.size()));
+                    assertEquals(hashFromScratch(game.makeMove(move)), game.makeMove(move).getPositionHash());
+                    game.applyMove(move);
+                }
+            }
+        }
+    }
+
+    @Test
+    void undoRestoresTheHash() {
+        for (long seed = 1; seed <= 10; seed++) {
+            Random random = new Random(seed);
+            HiveGame game = HiveStandardPosition.START.create();
+            List<Long> history = new ArrayList<>();
+            for (int ply = 0; ply < 60 && !game.isTerminalState(); ply++) {
+                history.add(game.getPositionHash());
+                List<HiveMove> moves = HiveStandardPosition.sortedMoves(game);
+                if (moves.isEmpty()) {
+                    game.applyPass();
+                } else {
+                    game.applyMove(moves.get(random.nextInt(moves.size())));
+                }
+            }
+
+            for (int ply = history.size() - 1; ply >= 0; ply--) {
+                game.undoMove();
+                assertEquals((long) history.get(ply), game.getPositionHash());
+            }
+        }
+    }
+
+    @Test
+    void copiesKeepTheHash() {
+        for (HiveStandardPosition position : HiveStandardPosition.values()) {
+            HiveGame game = position.create();
+            long hash = game.getPositionHash();
+            assertEquals(hash, game.copyForSearch().getPositionHash());
+            HiveBoardState arrayCopy = new HiveBoardState(game.getBoardState(), HiveBoardStorageType.ARRAY.createStorage());
+            assertEquals(game.getBoardState().getZobristHash(), arrayCopy.getZobristHash());
+        }
+    }
+
+    @Test
+    void transposedMoveOrdersHashEqually() {
+        HiveGame game = HiveStandardPosition.EARLY_GAME.create();
+        List<HiveMove> firstMoves = HiveStandardPosition.sortedMoves(game);
+        HiveMove reply = HiveStandardPosition.sortedMoves(game.makeMove(firstMoves.get(0))).get(0);
+
+        // two placements by the player to move, played either side of the same reply
+        int transpositions = 0;
+        for (HiveMove a : firstMoves) {
+            for (HiveMove b : firstMoves) {
+                if (!a.isPlacementMove() || !b.isPlacementMove() || a.getNextPosition() == b.getNextPosition()) continue;
+
+                HiveGame viaA = playIfLegal(game, a, reply, b);
+                HiveGame viaB = playIfLegal(game, b, reply, a);
+                if (viaA == null || viaB == null) continue;
+
+                assertEquals(viaA.getPositionHash(), viaB.getPositionHash(), () -> a + " and " + b);
+                transpositions++;
+            }
+        }
+        assertTrue(transpositions > 0, "no transposition found to check");
+    }
+
+    // null if any of the moves is not legal when its turn comes
+    private static HiveGame playIfLegal(HiveGame game, HiveMove... moves) {
+        for (HiveMove move : moves) {
+            if (!game.getAvailableMoves(game.getCurrentPlayer()).contains(move)) return null;
+            game = game.makeMove(move);
+        }
+        return game;
+    }
+}